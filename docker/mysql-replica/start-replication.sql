@@ -0,0 +1,11 @@
+-- Runs once when the replica's data directory is initialized: follow the compose primary by GTID
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'root1234',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
+-- Reject writes from clients, replication itself still applies changes
+SET PERSIST super_read_only = ON;
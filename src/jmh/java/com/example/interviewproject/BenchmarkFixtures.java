@@ -0,0 +1,56 @@
+package com.example.interviewproject;
+
+import com.example.interviewproject.model.EventType;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserEvent;
+import com.example.interviewproject.model.UserRole;
+import com.example.interviewproject.model.UserStatus;
+import com.example.interviewproject.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Objects shared by the JMH benchmarks, built without a Spring context
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "uQyQ7a8cEw6tq8nYwM7d5Zr3v9G2pX1lqT8rW5yE3uI=";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        return jwtService;
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Name" + id)
+                .surname("Surname" + id)
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .phone("+1555" + id)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6NQ1fQ5v1Y8oWJ6ZzQ9u4qS")
+                .enabled(true)
+                .userRole(UserRole.USER)
+                .userStatus(UserStatus.ACTIVE)
+                .passwordChangeAttempts(0)
+                .build();
+    }
+
+    public static UserEvent event(long id, User user) {
+        EventType[] types = EventType.values();
+        return UserEvent.builder()
+                .id(id)
+                .user(user)
+                .eventType(types[(int) (id % types.length)])
+                .eventTime(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id))
+                .build();
+    }
+}
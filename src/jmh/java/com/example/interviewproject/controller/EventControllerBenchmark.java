@@ -0,0 +1,30 @@
+package com.example.interviewproject.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventControllerBenchmark {
+
+    private final String[] defaultSort = {"eventTime", "desc"};
+    private final String[] ascendingSort = {"eventType", "ASC"};
+
+    @Benchmark
+    public Sort parseDefaultSort() {
+        return Sort.by(EventController.parseSort(defaultSort));
+    }
+
+    @Benchmark
+    public Sort parseAscendingSort() {
+        return Sort.by(EventController.parseSort(ascendingSort));
+    }
+}
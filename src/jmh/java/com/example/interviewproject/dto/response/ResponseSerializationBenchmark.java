@@ -0,0 +1,79 @@
+package com.example.interviewproject.dto.response;
+
+import com.example.interviewproject.BenchmarkFixtures;
+import com.example.interviewproject.mapper.UserMapper;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON rendering of what the user and event endpoints return: entities mapped to response
+ * records, then written with an ObjectMapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private UserMapper userMapper;
+    private User user;
+    private List<UserEvent> events;
+    private Page<UserEventResponse> eventPage;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        userMapper = Mappers.getMapper(UserMapper.class);
+        user = BenchmarkFixtures.user(42);
+        events = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            events.add(BenchmarkFixtures.event(i + 1, user));
+        }
+        eventPage = toPage(events);
+    }
+
+    @Benchmark
+    public String userResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(userMapper.toResponse(user));
+    }
+
+    @Benchmark
+    public String eventPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(eventPage);
+    }
+
+    @Benchmark
+    public String mapAndWriteEventPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(toPage(events));
+    }
+
+    private Page<UserEventResponse> toPage(List<UserEvent> content) {
+        return new PageImpl<>(content.stream().map(userMapper::toResponse).toList(),
+                PageRequest.of(0, pageSize), 1000);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.interviewproject.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram (microseconds, up to one minute) and error count for one endpoint
+ */
+class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final AtomicLong errors = new AtomicLong();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, boolean success) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        latencies.recordValue(Math.min(micros, latencies.getHighestTrackableValue()));
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    void printRow(PrintStream out, double seconds) {
+        long count = latencies.getTotalCount();
+        out.printf(Locale.ROOT, "%-28s %9d %9.1f %7d %6.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                name, count, count / seconds, errors.get(), count == 0 ? 0.0 : 100.0 * errors.get() / count,
+                millis(50), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0);
+    }
+
+    // Full percentile distribution in HdrHistogram's .hgrm format, values in milliseconds
+    void writeDistribution(Path directory) throws IOException {
+        Path file = directory.resolve(name.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.interviewproject.loadtest;
+
+import com.example.interviewproject.InterviewProjectApplication;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Capacity test for a single node. Boots the application in-process on H2 (MySQL mode) with a
+ * GreenMail SMTP sink, seeds users and events, then starts weighted scenarios at a fixed arrival
+ * rate regardless of how fast earlier ones complete (open loop). The first request of a scenario
+ * is timed from its scheduled start, so queueing behind a slow server shows up in the percentiles.
+ * Client and server share the JVM: compare releases on the same machine and settings.
+ */
+public class LoadTestHarness {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern CODE = Pattern.compile("\\b(\\d{6})\\b");
+    private static final AtomicLong SIGNUPS = new AtomicLong();
+    private static final List<String> SCENARIOS =
+            List.of("onboarding", "returning", "adminSearch", "adminEvents", "adminExport");
+
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+    private final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private final int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 2000);
+    private final int seedUsers = Integer.getInteger("loadtest.seedUsers", 10000);
+    private final int seedEventsPerUser = Integer.getInteger("loadtest.seedEventsPerUser", 10);
+    private final int exportPages = Integer.getInteger("loadtest.exportPages", 5);
+    private final boolean poisson = !"constant".equalsIgnoreCase(System.getProperty("loadtest.arrivals", "poisson"));
+    private final Path reportDirectory = Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+    private final Map<String, Integer> weights = parseWeights(System.getProperty("loadtest.weights",
+            "onboarding=10,returning=50,adminSearch=15,adminEvents=20,adminExport=5"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private GreenMail greenMail;
+    private String baseUrl;
+    private String adminToken;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run();
+    }
+
+    private void run() throws Exception {
+        int smtpPort = freePort();
+        greenMail = new GreenMail(new ServerSetup(smtpPort, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InterviewProjectApplication.class)
+                .profiles("loadtest")
+                .run("--spring.mail.port=" + smtpPort);
+        try {
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedStart = System.currentTimeMillis();
+            new LoadTestSeeder(context).seed(seedUsers, seedEventsPerUser);
+            System.out.printf(Locale.ROOT, "Seeded %d users in %d ms%n", seedUsers, System.currentTimeMillis() - seedStart);
+            adminToken = login("admin@gmail.com", "admin1234", null);
+
+            if (warmupSeconds > 0) {
+                System.out.printf(Locale.ROOT, "Warming up for %ds at %.1f scenarios/s%n", warmupSeconds, rate);
+                drive(warmupSeconds);
+                stats.clear();
+            }
+            System.out.printf(Locale.ROOT, "Measuring for %ds at %.1f scenarios/s (%s arrivals), weights %s%n",
+                    durationSeconds, rate, poisson ? "poisson" : "constant", weights);
+            long dropsBefore = dropped.get();
+            drive(durationSeconds);
+            report(dropped.get() - dropsBefore);
+        } finally {
+            context.close();
+            greenMail.stop();
+        }
+    }
+
+    // Starts one scenario per arrival until the duration is over, then waits for in-flight ones
+    private void drive(int seconds) throws InterruptedException {
+        ExecutorService sessions = Executors.newCachedThreadPool();
+        List<String> names = new ArrayList<>(weights.keySet());
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long next = System.nanoTime();
+
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduled = next;
+            next += poisson ? (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * intervalNanos) : intervalNanos;
+
+            if (inFlight.get() >= maxInFlight) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            String scenario = pick(names, totalWeight);
+            inFlight.incrementAndGet();
+            sessions.execute(() -> {
+                try {
+                    runScenario(scenario, scheduled);
+                } catch (Exception e) {
+                    // Failed step already counted as an endpoint error
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        sessions.shutdown();
+        sessions.awaitTermination(2, TimeUnit.MINUTES);
+    }
+
+    private String pick(List<String> names, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (String name : names) {
+            roll -= weights.get(name);
+            if (roll < 0) {
+                return name;
+            }
+        }
+        return names.get(names.size() - 1);
+    }
+
+    private void runScenario(String scenario, long scheduled) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case "onboarding" -> {
+                long n = SIGNUPS.incrementAndGet();
+                String email = "onboard" + n + "@loadtest.example.com";
+                post("POST /auth/signup", "/api/v1/auth/signup", "{\"name\":\"Onboard\",\"surname\":\"User" + n +
+                        "\",\"userName\":\"onboard" + n + "\",\"email\":\"" + email +
+                        "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\",\"phone\":\"+2000" + n + "\"}", scheduled);
+                post("POST /auth/verify", "/api/v1/auth/verify",
+                        "{\"email\":\"" + email + "\",\"verificationCode\":\"" + verificationCode(email) + "\"}", null);
+                String token = login(email, LoadTestSeeder.PASSWORD, null);
+                get("GET /events/my-events", "/api/v1/events/my-events?page=0&size=10", token, null);
+                get("GET /users/my-profile", "/api/v1/users/my-profile", token, null);
+            }
+            case "returning" -> {
+                int n = random.nextInt(seedUsers);
+                String token = login(LoadTestSeeder.email(n), LoadTestSeeder.PASSWORD, scheduled);
+                get("GET /events/my-events", "/api/v1/events/my-events?page=0&size=10", token, null);
+                get("GET /users/my-profile", "/api/v1/users/my-profile", token, null);
+            }
+            case "adminSearch" -> {
+                String query = LoadTestSeeder.username(random.nextInt(seedUsers));
+                query = query.substring(0, Math.max(4, query.length() - random.nextInt(3)));
+                get("GET /users/search", "/api/v1/users/search?size=20&query=" + encode(query), adminToken, scheduled);
+            }
+            case "adminEvents" -> {
+                String type = random.nextBoolean() ? "PASSWORD_CHANGED" : "USER_STATUS_CHANGED";
+                LocalDateTime from = LocalDateTime.now().minusDays(1 + random.nextInt(30)).withNano(0);
+                get("GET /events?filters", "/api/v1/events?size=50&eventType=" + type + "&startDate=" + encode(from.toString()),
+                        adminToken, scheduled);
+            }
+            case "adminExport" -> {
+                // No export endpoint: an export walks the admin event listing in large pages
+                for (int page = 0; page < exportPages; page++) {
+                    get("GET /events?export", "/api/v1/events?size=500&page=" + page, adminToken,
+                            page == 0 ? scheduled : null);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private String login(String email, String password, Long scheduled) throws Exception {
+        String body = post("POST /auth/login", "/api/v1/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}", scheduled);
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No token in login response for " + email);
+        }
+        return matcher.group(1);
+    }
+
+    private String verificationCode(String email) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(email);
+            if (messages.length > 0) {
+                GreenMailUser mailbox = greenMail.getUserManager().getUserByEmail(email);
+                if (mailbox != null) {
+                    greenMail.getUserManager().deleteUser(mailbox);
+                }
+                Matcher matcher = CODE.matcher(GreenMailUtil.getBody(messages[0]));
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+                throw new IllegalStateException("No verification code in email to " + email);
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("No verification email for " + email);
+    }
+
+    private String post(String endpoint, String path, String json, Long scheduled) throws Exception {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)), scheduled);
+    }
+
+    private String get(String endpoint, String path, String token, Long scheduled) throws Exception {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET(), scheduled);
+    }
+
+    private String send(String endpoint, HttpRequest.Builder request, Long scheduled) throws Exception {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long start = scheduled != null ? scheduled : System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2;
+            endpointStats.record(start, success);
+            if (!success) {
+                throw new IllegalStateException(endpoint + " returned " + response.statusCode());
+            }
+            return response.body();
+        } catch (IOException e) {
+            endpointStats.record(start, false);
+            throw e;
+        }
+    }
+
+    private void report(long droppedArrivals) throws IOException {
+        System.out.printf(Locale.ROOT, "%n%-28s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "err%", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Files.createDirectories(reportDirectory);
+        for (EndpointStats endpointStats : stats.values().stream()
+                .sorted((a, b) -> a.name().compareTo(b.name())).toList()) {
+            endpointStats.printRow(System.out, durationSeconds);
+            endpointStats.writeDistribution(reportDirectory);
+        }
+        System.out.printf(Locale.ROOT, "%nDropped arrivals (over %d in flight): %d%n", maxInFlight, droppedArrivals);
+        System.out.println("Latency distributions written to " + reportDirectory.toAbsolutePath());
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid scenario weight: " + entry);
+            }
+            if (!SCENARIOS.contains(parts[0].trim())) {
+                throw new IllegalArgumentException("Unknown scenario " + parts[0].trim() + ", expected one of " + SCENARIOS);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                parsed.put(parts[0].trim(), weight);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario needs a positive weight");
+        }
+        return parsed;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
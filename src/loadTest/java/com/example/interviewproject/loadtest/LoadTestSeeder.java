@@ -0,0 +1,109 @@
+package com.example.interviewproject.loadtest;
+
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.model.EventType;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.service.BlockIdAllocator;
+import com.example.interviewproject.service.UserAvailabilityService;
+import com.example.interviewproject.service.UserSearchIndex;
+import com.example.interviewproject.service.UserStatsCache;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeds verified users (loadtest-user{n}@example.com, shared password) with a few events each
+ * straight through JDBC, then registers them with the in-memory search index and availability filters.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "password123";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockIdAllocator blockIdAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final UserSearchIndex userSearchIndex;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserStatsCache userStatsCache;
+
+    LoadTestSeeder(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.blockIdAllocator = context.getBean(BlockIdAllocator.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.userSearchIndex = context.getBean(UserSearchIndex.class);
+        this.userAvailabilityService = context.getBean(UserAvailabilityService.class);
+        this.userStatsCache = context.getBean(UserStatsCache.class);
+    }
+
+    static String email(int n) {
+        return "loadtest-user" + n + "@example.com";
+    }
+
+    static String username(int n) {
+        return "loadtest_user" + n;
+    }
+
+    void seed(int users, int eventsPerUser) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < users; from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE, users);
+            List<User> batch = new ArrayList<>(to - from);
+            List<Object[]> userRows = new ArrayList<>(to - from);
+            List<Object[]> eventRows = new ArrayList<>();
+            for (int n = from; n < to; n++) {
+                User user = User.builder()
+                        .id(blockIdAllocator.next("users"))
+                        .name("Load" + n)
+                        .surname("Test" + n)
+                        .username(username(n))
+                        .email(email(n))
+                        .phone("+1000" + n)
+                        .build();
+                batch.add(user);
+                userRows.add(new Object[]{user.getId(), user.getName(), user.getSurname(), user.getUsername(),
+                        user.getPhone(), user.getEmail(), hash,
+                        SearchText.normalize(user.getUsername()), SearchText.normalize(user.getEmail()),
+                        SearchText.normalize(user.getName()), SearchText.normalize(user.getSurname())});
+                addEvents(eventRows, user.getId(), eventsPerUser, now);
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, name, surname, username, phone, email, password, " +
+                    "enabled, user_role, user_status, password_change_attempts, version, username_normalized, " +
+                    "email_normalized, name_normalized, surname_normalized) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, 'USER', 'ACTIVE', 0, 0, ?, ?, ?, ?)", userRows);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO user_events (id, user_id, event_type, event_time) VALUES (?, ?, ?, ?)", eventRows);
+            for (User user : batch) {
+                userSearchIndex.add(user);
+                userAvailabilityService.register(user);
+            }
+        }
+        userStatsCache.invalidate();
+    }
+
+    // Registration and verification, then a random number of later events over the past 30 days
+    private void addEvents(List<Object[]> rows, long userId, int eventsPerUser, LocalDateTime now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime registered = now.minusMinutes(random.nextLong(30L * 24 * 60));
+        rows.add(event(userId, EventType.USER_REGISTERED, registered));
+        rows.add(event(userId, EventType.USER_VERIFIED, registered.plusMinutes(5)));
+        int extra = eventsPerUser <= 2 ? 0 : random.nextInt(2 * (eventsPerUser - 2) + 1);
+        for (int i = 0; i < extra; i++) {
+            EventType type = random.nextInt(4) == 0 ? EventType.USER_STATUS_CHANGED : EventType.PASSWORD_CHANGED;
+            long span = Math.max(1, Duration.between(registered, now).toMinutes());
+            rows.add(event(userId, type, registered.plusMinutes(random.nextLong(span))));
+        }
+    }
+
+    private Object[] event(long userId, EventType type, LocalDateTime time) {
+        return new Object[]{blockIdAllocator.next("user_events"), userId, type.name(), Timestamp.valueOf(time)};
+    }
+}
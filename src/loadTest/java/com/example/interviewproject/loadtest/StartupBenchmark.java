@@ -0,0 +1,149 @@
+package com.example.interviewproject.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application as a child process in each launch mode and measures the time from process
+ * start until /actuator/health/readiness answers 200, i.e. until it would receive traffic. Modes:
+ * jar (java -jar on the boot jar), extracted (unpacked layout), cds (plus the training-run archive)
+ * and aot-cds (plus Spring AOT). Paths are passed by the startupBenchmark Gradle task.
+ */
+public class StartupBenchmark {
+
+    private static final List<String> ALL_MODES = List.of("jar", "extracted", "cds", "aot-cds");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final String java = System.getProperty("benchmark.java", "java");
+    private final Path jar = Path.of(require("benchmark.jar"));
+    private final Path cdsDir = Path.of(require("benchmark.cdsDir"));
+    private final Path reportDir = Path.of(System.getProperty("benchmark.reportDir", "build/reports/startup"));
+    // Every mode runs the profiles the AOT code and the archive were built for
+    private final String profiles = System.getProperty("benchmark.profiles", "prod");
+    private final int runs = Integer.getInteger("benchmark.runs", 5);
+    private final int timeoutSeconds = Integer.getInteger("benchmark.timeoutSeconds", 120);
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        List<String> modes = Arrays.stream(System.getProperty("benchmark.modes", String.join(",", ALL_MODES)).split(","))
+                .map(String::trim)
+                .filter(mode -> !mode.isEmpty())
+                .toList();
+        for (String mode : modes) {
+            if (!ALL_MODES.contains(mode)) {
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + ALL_MODES);
+            }
+        }
+        if (benchmark.runs < 1) {
+            throw new IllegalArgumentException("benchmark.runs must be at least 1");
+        }
+        Files.createDirectories(benchmark.reportDir);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            results.add(benchmark.run(mode));
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-10s %5s %9s %9s %9s%n", "mode", "runs", "min ms", "median ms", "max ms");
+        results.forEach(Result::print);
+    }
+
+    private Result run(String mode) throws Exception {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = startOnce(mode, i);
+            System.out.printf(Locale.ROOT, "%s run %d: ready after %d ms%n", mode, i + 1, millis[i]);
+        }
+        Arrays.sort(millis);
+        return new Result(mode, millis);
+    }
+
+    private long startOnce(String mode, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(java));
+        File workingDir = cdsDir.resolve("app").toFile();
+        switch (mode) {
+            case "jar" -> {
+                workingDir = jar.getParent().toFile();
+                command.addAll(List.of("-jar", jar.toAbsolutePath().toString()));
+            }
+            case "extracted" -> command.addAll(List.of("-jar", "app.jar"));
+            case "cds" -> command.addAll(List.of("-XX:SharedArchiveFile=../app.jsa", "-jar", "app.jar"));
+            default -> command.addAll(List.of("-XX:SharedArchiveFile=../app.jsa", "-Dspring.aot.enabled=true",
+                    "-jar", "app.jar"));
+        }
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + profiles);
+
+        File log = reportDir.resolve(mode + "-" + (run + 1) + ".log").toFile();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening or not answering yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode + " not ready after " + timeoutSeconds + "s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String require(String property) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            throw new IllegalStateException(property + " is not set, run through ./gradlew startupBenchmark");
+        }
+        return value;
+    }
+
+    private record Result(String mode, long[] sortedMillis) {
+
+        void print() {
+            System.out.printf(Locale.ROOT, "%-10s %5d %9d %9d %9d%n", mode, sortedMillis.length,
+                    sortedMillis[0], sortedMillis[sortedMillis.length / 2], sortedMillis[sortedMillis.length - 1]);
+        }
+    }
+}
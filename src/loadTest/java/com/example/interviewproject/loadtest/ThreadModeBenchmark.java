@@ -0,0 +1,153 @@
+package com.example.interviewproject.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop comparison of two running instances, one started normally and one with the
+ * virtual-threads profile, on the signup and admin event-listing endpoints. Point both
+ * instances at the same slow SMTP stand-in to see the effect of blocking mail sends.
+ */
+public class ThreadModeBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis() % 1_000_000_000L * 1000);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+    private final int concurrency = Integer.getInteger("benchmark.concurrency", 200);
+    private final int durationSeconds = Integer.getInteger("benchmark.durationSeconds", 30);
+    private final String adminEmail = System.getProperty("benchmark.adminEmail", "admin@gmail.com");
+    private final String adminPassword = System.getProperty("benchmark.adminPassword", "admin1234");
+
+    public static void main(String[] args) throws Exception {
+        ThreadModeBenchmark benchmark = new ThreadModeBenchmark();
+        String platformUrl = System.getProperty("benchmark.platformUrl", "http://localhost:8080");
+        String virtualUrl = System.getProperty("benchmark.virtualUrl", "http://localhost:8081");
+
+        List<Result> results = new ArrayList<>();
+        for (String[] target : new String[][]{{"platform", platformUrl}, {"virtual", virtualUrl}}) {
+            String token = benchmark.login(target[1]);
+            results.add(benchmark.run(target[0], "signup", () -> benchmark.signup(target[1])));
+            results.add(benchmark.run(target[0], "events", () -> benchmark.listEvents(target[1], token)));
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-9s %-7s %10s %8s %9s %9s %9s%n",
+                "mode", "path", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        results.forEach(Result::print);
+    }
+
+    private Result run(String mode, String path, Call call) throws Exception {
+        System.out.printf(Locale.ROOT, "Running %s/%s with %d clients for %ds%n", mode, path, concurrency, durationSeconds);
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = call.execute();
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    if (!ok) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        List<long[]> perWorker = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perWorker.add(future.get());
+        }
+        workers.shutdown();
+
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, path, all, errors.get(), durationSeconds);
+    }
+
+    private String login(String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(json(baseUrl + "/api/v1/auth/login",
+                "{\"email\":\"" + adminEmail + "\",\"password\":\"" + adminPassword + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Admin login failed on " + baseUrl + ": " + response.statusCode());
+        }
+        return matcher.group(1);
+    }
+
+    private boolean signup(String baseUrl) throws IOException, InterruptedException {
+        long n = SEQUENCE.incrementAndGet();
+        String body = "{\"name\":\"Bench\",\"surname\":\"User\",\"userName\":\"bench" + n + "\"," +
+                "\"email\":\"bench" + n + "@example.com\",\"password\":\"password123\",\"phone\":\"+1" + n + "\"}";
+        return client.send(json(baseUrl + "/api/v1/auth/signup", body),
+                HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    private boolean listEvents(String baseUrl, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/events?page=0&size=50"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    private static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean execute() throws IOException, InterruptedException;
+    }
+
+    private record Result(String mode, String path, long[] sortedNanos, long errors, int durationSeconds) {
+
+        void print() {
+            System.out.printf(Locale.ROOT, "%-9s %-7s %10d %8d %9.1f %9.1f %9.1f%n",
+                    mode, path, sortedNanos.length, errors, (double) sortedNanos.length / durationSeconds,
+                    percentile(0.50), percentile(0.99));
+        }
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.interviewproject.openapi;
+
+import com.example.interviewproject.InterviewProjectApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build-time OpenAPI document (generateOpenApiDocs task): boots the application on H2 with the
+ * loadtest profile, fetches the springdoc document once and writes openapi.json and a gzipped copy
+ * for the prod profile to serve statically.
+ */
+public class OpenApiDocGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String output = System.getProperty("openapi.outputDir");
+        if (output == null) {
+            throw new IllegalStateException("openapi.outputDir is not set, run through ./gradlew generateOpenApiDocs");
+        }
+        Path outputDir = Path.of(output);
+
+        byte[] document;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InterviewProjectApplication.class)
+                .profiles("loadtest")
+                .run("--springdoc.api-docs.enabled=true")) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String path = context.getEnvironment().getProperty("springdoc.api-docs.path", "/v3/api-docs");
+            HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+            }
+            document = normalize(response.body());
+        }
+
+        Files.createDirectories(outputDir);
+        Files.write(outputDir.resolve("openapi.json"), document);
+        try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(outputDir.resolve("openapi.json.gz")))) {
+            gzip.write(document);
+        }
+        System.out.printf("Wrote %s (%d bytes)%n", outputDir.resolve("openapi.json"), document.length);
+    }
+
+    // The generated server entry points at the temporary port; without it clients use the serving host
+    private static byte[] normalize(byte[] document) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = (ObjectNode) mapper.readTree(document);
+        root.remove("servers");
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(root);
+    }
+}
@@ -2,8 +2,10 @@ package com.example.interviewproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class InterviewProjectApplication {
     public static void main(String[] args) {
         SpringApplication.run(InterviewProjectApplication.class, args);
@@ -0,0 +1,38 @@
+package com.example.interviewproject.Utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET over a cheaply computed ETag: a matching If-None-Match gets 304 before the
+ * body is loaded or serialized. Responses are private and must be revalidated on every use.
+ */
+public final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /**
+     * Strong ETag value from its parts, e.g. etag("u", 42, 7) gives "u-42-7"
+     */
+    public static String etag(String kind, Object... parts) {
+        StringBuilder value = new StringBuilder("\"").append(kind);
+        for (Object part : parts) {
+            value.append('-').append(part);
+        }
+        return value.append('"').toString();
+    }
+}
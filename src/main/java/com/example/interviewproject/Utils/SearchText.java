@@ -0,0 +1,23 @@
+package com.example.interviewproject.Utils;
+
+import java.util.Locale;
+
+public final class SearchText {
+
+    private SearchText() {
+    }
+
+    /**
+     * Lowercase, trimmed form stored in the *_normalized columns and used by the search index
+     */
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escape LIKE wildcards so user input is matched literally
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.interviewproject.Utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs at most one call per key at a time: callers arriving while a call for their key is in
+ * flight wait for it and share its result or exception instead of running their own. Nothing is
+ * kept once the call completes, the next caller runs it again.
+ */
+public final class SingleFlight<K> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of execute: the value and whether it came from another caller's call
+     */
+    public record Result(Object value, boolean shared) {
+    }
+
+    @FunctionalInterface
+    public interface Call {
+        Object call() throws Throwable;
+    }
+
+    public Result execute(K key, Call call) throws Throwable {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            try {
+                return new Result(leader.get(), true);
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            Object value = call.call();
+            mine.complete(value);
+            return new Result(value, false);
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.interviewproject.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Dedicated connection pool for admin bulkhead threads (see AdminBulkheads). The pool is not a
+ * default candidate, so DataSource auto-configuration and injection by type still see only the
+ * application's data source; the routing wrapper is the only way in.
+ */
+@Configuration
+public class AdminBulkheadConfiguration {
+
+    // Blank uses spring.datasource.url; point it at the replica to move admin reads off the primary
+    @Value("${app.bulkhead.datasource.url:}")
+    private String adminUrl;
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.bulkhead.datasource.hikari")
+    public HikariDataSource adminDataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(adminUrl.isBlank() ? properties.determineUrl() : adminUrl)
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+        dataSource.setPoolName("admin");
+        // Metrics are bound explicitly: pool metrics auto-configuration only covers default candidates
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    // Unordered, so it runs after SqlAccountingPostProcessor has wrapped the bare pool
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(BeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new BulkheadRoutingDataSource(dataSource,
+                        () -> beanFactory.getBean("adminDataSource", DataSource.class));
+            }
+        };
+    }
+}
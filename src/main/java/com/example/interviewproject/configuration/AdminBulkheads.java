@@ -0,0 +1,44 @@
+package com.example.interviewproject.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkheads for the heavy admin read endpoints, one per controller so a burst of event exports
+ * cannot take the threads user listings need. Both draw on the admin connection pool.
+ */
+@Component
+public class AdminBulkheads {
+
+    private final Bulkhead users;
+    private final Bulkhead events;
+
+    public AdminBulkheads(MeterRegistry meterRegistry,
+                          @Value("${app.bulkhead.users.threads:3}") int userThreads,
+                          @Value("${app.bulkhead.users.queue-capacity:20}") int userQueueCapacity,
+                          @Value("${app.bulkhead.events.threads:3}") int eventThreads,
+                          @Value("${app.bulkhead.events.queue-capacity:20}") int eventQueueCapacity,
+                          @Value("${app.bulkhead.max-queue-wait-ms:30000}") long maxQueueWaitMs,
+                          @Value("${app.bulkhead.retry-after-seconds:2}") int retryAfterSeconds) {
+        this.users = new Bulkhead("admin-users", userThreads, userQueueCapacity, maxQueueWaitMs,
+                retryAfterSeconds, meterRegistry);
+        this.events = new Bulkhead("admin-events", eventThreads, eventQueueCapacity, maxQueueWaitMs,
+                retryAfterSeconds, meterRegistry);
+    }
+
+    public Bulkhead users() {
+        return users;
+    }
+
+    public Bulkhead events() {
+        return events;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        users.shutdown();
+        events.shutdown();
+    }
+}
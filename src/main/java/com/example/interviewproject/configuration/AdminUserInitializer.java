@@ -35,7 +35,7 @@ public class AdminUserInitializer implements CommandLineRunner {
     }
 
     private void createDefaultAdminIfNotExists() {
-        if (userRepository.findByEmail(DEFAULT_ADMIN_EMAIL).isPresent()) {
+        if (userRepository.findCachedByEmail(DEFAULT_ADMIN_EMAIL).isPresent()) {
             logger.info("Admin user already exists with email: {}", DEFAULT_ADMIN_EMAIL);
             return;
         }
@@ -0,0 +1,170 @@
+package com.example.interviewproject.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool with a bounded queue for one class of heavy requests. Work submitted while
+ * both are full is refused with 503 instead of waiting on a request thread, and work that waited
+ * in the queue longer than maxQueueWaitMs is dropped with 503 before the async request times out.
+ * Work running on a bulkhead thread takes its JDBC connections from the admin pool
+ * (BulkheadRoutingDataSource).
+ */
+public class Bulkhead {
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+    private final long maxQueueWaitNanos;
+    private final Counter rejected;
+    private final Counter expired;
+    private final Timer queueWait;
+
+    public Bulkhead(String name, int threads, int queueCapacity, long maxQueueWaitMs, int retryAfterSeconds,
+                    MeterRegistry meterRegistry) {
+        if (threads <= 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs at least one thread and a non-negative queue");
+        }
+        this.name = name;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        AtomicInteger threadNumber = new AtomicInteger();
+        BlockingQueue<Runnable> queue = queueCapacity == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue,
+                r -> {
+                    Thread thread = new Thread(r, "bulkhead-" + name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Requests refused because the bulkhead's threads and queue were full")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.expired = Counter.builder("bulkhead.expired")
+                .description("Requests dropped with 503 after waiting in the queue longer than the maximum queue wait")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("bulkhead.queue.wait")
+                .description("Time requests waited in the bulkhead queue for a thread")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.threads.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Bulkhead threads running a request")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.threads.max", executor, ThreadPoolExecutor::getMaximumPoolSize)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queue.size", executor, e -> e.getQueue().size())
+                .description("Requests waiting for a bulkhead thread")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queue.capacity", () -> queueCapacity)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs work on a bulkhead thread with the caller's security context, SQL accounting and
+     * Server-Timing state. The returned future is meant to be returned from a controller method,
+     * which frees the request thread until it completes. Work whose future is already done when a
+     * thread picks it up (cancelled, or completed by a timeout) is skipped.
+     *
+     * @throws BulkheadFullException when no thread or queue slot is free
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        SqlRequestStats sqlStats = SqlRequestStats.current();
+        RequestTimings timings = RequestTimings.current();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long waited = System.nanoTime() - submitted;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                if (future.isDone()) {
+                    return;
+                }
+                if (maxQueueWaitNanos > 0 && waited > maxQueueWaitNanos) {
+                    expired.increment();
+                    future.completeExceptionally(new BulkheadFullException(name, retryAfterSeconds));
+                    return;
+                }
+                CURRENT.set(this);
+                SecurityContextHolder.setContext(securityContext);
+                if (sqlStats != null) {
+                    SqlRequestStats.bind(sqlStats);
+                }
+                if (timings != null) {
+                    RequestTimings.bind(timings);
+                }
+                try {
+                    future.complete(work.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    RequestTimings.end();
+                    SqlRequestStats.end();
+                    SecurityContextHolder.clearContext();
+                    CURRENT.remove();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BulkheadFullException(name, retryAfterSeconds);
+        }
+        return future;
+    }
+
+    /**
+     * Whether the current thread is running work for any bulkhead
+     */
+    public static boolean isBulkheadThread() {
+        return CURRENT.get() != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public static class BulkheadFullException extends ResponseStatusException {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        BulkheadFullException(String bulkhead, int retryAfterSeconds) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, "Too many " + bulkhead + " requests in progress, retry later");
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.interviewproject.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections from the admin pool to bulkhead threads and from the application's
+ * data source to everything else, so heavy admin reads queue for their own few connections
+ * instead of the ones logins and user requests need.
+ */
+public class BulkheadRoutingDataSource extends DelegatingDataSource {
+
+    private final Supplier<DataSource> adminDataSourceLookup;
+    private volatile DataSource adminDataSource;
+
+    // The admin pool is looked up on first use, post-processors cannot depend on it directly
+    public BulkheadRoutingDataSource(DataSource target, Supplier<DataSource> adminDataSourceLookup) {
+        super(target);
+        this.adminDataSourceLookup = adminDataSourceLookup;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (Bulkhead.isBulkheadThread()) {
+            return adminDataSource().getConnection();
+        }
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (Bulkhead.isBulkheadThread()) {
+            return adminDataSource().getConnection(username, password);
+        }
+        return super.getConnection(username, password);
+    }
+
+    private DataSource adminDataSource() {
+        DataSource dataSource = adminDataSource;
+        if (dataSource == null) {
+            dataSource = adminDataSourceLookup.get();
+            adminDataSource = dataSource;
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.interviewproject.configuration;
+
+import com.example.interviewproject.service.AdaptiveConcurrencyLimiter;
+import com.example.interviewproject.service.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits requests through the AdaptiveConcurrencyLimiter and answers the rest with 503 and
+ * Retry-After before any security, database or serialization work is done for them. Runs first so
+ * that shed requests cost next to nothing; health probes are never limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String SHED_BODY =
+            "{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\"Server overloaded, retry later\"}";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Value("${app.concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || path(request).startsWith("/actuator/health");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Priority priority = classify(request);
+        if (!limiter.tryAcquire(priority)) {
+            // Written directly: an error dispatch would run the security chain for a request being turned away
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(SHED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // The permit is held until the async result is written
+                request.getAsyncContext().addListener(new ReleaseOnComplete(priority));
+            } else {
+                limiter.release(priority, System.nanoTime() - start, !failed && response.getStatus() < 500);
+            }
+        }
+    }
+
+    static Priority classify(HttpServletRequest request) {
+        String path = path(request);
+        // Unauthenticated account creation (BCrypt, SMTP) must not outrank signed-in users
+        if (path.startsWith("/api/v1/auth/signup")
+                || path.startsWith("/api/v1/auth/resend")
+                || path.startsWith("/api/v1/auth/availability")) {
+            return Priority.ADMIN;
+        }
+        if (path.startsWith("/api/v1/auth/")
+                || path.startsWith("/api/v1/users/my-profile")
+                || path.startsWith("/api/v1/events/my-events")) {
+            return Priority.USER;
+        }
+        if (path.startsWith("/api/v1/users")
+                || path.startsWith("/api/v1/events")
+                || path.startsWith("/api/v1/diagnostics")
+                || path.startsWith("/actuator")) {
+            return Priority.ADMIN;
+        }
+        return Priority.LOW;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // Released without a sample: async time includes waiting in a bulkhead queue, not just this node's latency
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final Priority priority;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(priority, 0, false);
+            }
+        }
+    }
+}
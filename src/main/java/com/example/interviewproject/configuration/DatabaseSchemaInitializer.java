@@ -0,0 +1,116 @@
+package com.example.interviewproject.configuration;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the MySQL-specific schema pieces that hibernate ddl-auto cannot express:
+ * prefix B-tree indexes and the ngram FULLTEXT index used by database-side user search,
+ * and column type changes that ddl-auto=update never applies to existing tables.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseSchemaInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSchemaInitializer.class);
+    private static final int BACKFILL_BATCH_SIZE = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            if (!isMySql()) {
+                logger.info("Skipping MySQL schema maintenance for non-MySQL database");
+                return;
+            }
+            backfillNormalizedUserColumns();
+            createUserSearchIndexes();
+            convertEnumColumnToVarchar("user_events", "event_type", "VARCHAR(32) NOT NULL");
+            backfillDeletedAt();
+        } catch (Exception e) {
+            logger.error("Failed to apply database schema maintenance", e);
+        }
+    }
+
+    private void backfillNormalizedUserColumns() {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update("UPDATE users SET " +
+                    "username_normalized = LOWER(TRIM(username)), " +
+                    "email_normalized = LOWER(TRIM(email)), " +
+                    "name_normalized = LOWER(TRIM(name)), " +
+                    "surname_normalized = LOWER(TRIM(surname)) " +
+                    "WHERE username_normalized IS NULL LIMIT " + BACKFILL_BATCH_SIZE);
+            total += updated;
+        } while (updated > 0);
+
+        if (total > 0) {
+            logger.info("Backfilled normalized search columns for {} users", total);
+        }
+    }
+
+    // Users deleted before deleted_at existed take the time of their USER_DELETED event
+    private void backfillDeletedAt() {
+        int updated = jdbcTemplate.update("UPDATE users u SET u.deleted_at = COALESCE(" +
+                "(SELECT MAX(e.event_time) FROM user_events e WHERE e.user_id = u.id AND e.event_type = 'USER_DELETED'), " +
+                "NOW()), u.version = u.version + 1 WHERE u.user_status = 'DELETED' AND u.deleted_at IS NULL");
+        if (updated > 0) {
+            logger.info("Backfilled deleted_at for {} users", updated);
+        }
+    }
+
+    private void createUserSearchIndexes() {
+        createIndexIfMissing("users", "idx_users_username_prefix",
+                "CREATE INDEX idx_users_username_prefix ON users (username_normalized(32))");
+        createIndexIfMissing("users", "idx_users_email_prefix",
+                "CREATE INDEX idx_users_email_prefix ON users (email_normalized(64))");
+        createIndexIfMissing("users", "idx_users_name_prefix",
+                "CREATE INDEX idx_users_name_prefix ON users (name_normalized(32))");
+        createIndexIfMissing("users", "idx_users_surname_prefix",
+                "CREATE INDEX idx_users_surname_prefix ON users (surname_normalized(32))");
+        createIndexIfMissing("users", "ft_users_search",
+                "CREATE FULLTEXT INDEX ft_users_search ON users " +
+                        "(username_normalized, email_normalized, name_normalized, surname_normalized) " +
+                        "WITH PARSER ngram");
+    }
+
+    // Older schemas got a MySQL ENUM for event_type, which rejects event types added later
+    private void convertEnumColumnToVarchar(String table, String column, String definition) {
+        String dataType = jdbcTemplate.query(
+                "SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                rs -> rs.next() ? rs.getString(1) : null, table, column);
+        if (!"enum".equalsIgnoreCase(dataType)) {
+            return;
+        }
+
+        logger.info("Converting {}.{} from ENUM to {}", table, column, definition);
+        jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY " + column + " " + definition);
+    }
+
+    private void createIndexIfMissing(String table, String index, String ddl) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        logger.info("Creating index {} on {}", index, table);
+        jdbcTemplate.execute(ddl);
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.interviewproject.configuration;
+
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.model.EventType;
+import com.example.interviewproject.service.BlockIdAllocator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk loads a synthetic dataset for performance work (profile datagen). Events per user follow a
+ * Pareto distribution, event times follow a daily cycle peaking in the afternoon, and slices of
+ * users are inserted in parallel as multi-row JDBC batches, one transaction per batch. Ids come
+ * from ranges reserved up front in id_blocks, so the running application never collides with them.
+ * All generated users share one password hash (app.datagen.password); hashing millions is not the point.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Ali", "Leyla", "John", "Aysel", "Robert",
+            "Patricia", "Murad", "Nigar", "Michael", "Linda", "Elvin", "Gunel", "David", "Sarah", "Kamran", "Aynur"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Aliyev", "Mammadova", "Brown", "Huseynov",
+            "Garcia", "Miller", "Guliyeva", "Davis", "Hasanov", "Wilson", "Ismayilova", "Moore", "Taylor"};
+    // Event mix after registration and verification
+    private static final EventType[] FOLLOW_UP_TYPES = {EventType.PASSWORD_CHANGED, EventType.USER_STATUS_CHANGED,
+            EventType.USER_ROLE_CHANGED};
+    private static final double[] FOLLOW_UP_WEIGHTS = {0.75, 0.20, 0.05};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockIdAllocator blockIdAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.datagen.users:1000000}")
+    private int users;
+
+    @Value("${app.datagen.events:10000000}")
+    private long events;
+
+    @Value("${app.datagen.threads:8}")
+    private int threads;
+
+    @Value("${app.datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.datagen.pareto-alpha:1.2}")
+    private double paretoAlpha;
+
+    // Keeps a single extreme Pareto draw from owning a large share of all events
+    @Value("${app.datagen.max-events-per-user:100000}")
+    private int maxEventsPerUser;
+
+    @Value("${app.datagen.days:365}")
+    private int days;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.unverified-fraction:0.05}")
+    private double unverifiedFraction;
+
+    @Value("${app.datagen.deleted-fraction:0.02}")
+    private double deletedFraction;
+
+    @Value("${app.datagen.password:password123}")
+    private String password;
+
+    // Skip unique and foreign key checks on the loader's MySQL sessions, the generated keys are unique by construction
+    @Value("${app.datagen.relaxed-checks:true}")
+    private boolean relaxedChecks;
+
+    @Value("${app.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private final double[] hourCdf = new double[24];
+    private final AtomicLong usersInserted = new AtomicLong();
+    private final AtomicLong eventsInserted = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() throws InterruptedException {
+        int exitCode = 0;
+        try {
+            run();
+        } catch (Exception e) {
+            logger.error("Dataset generation failed after {} users and {} events",
+                    usersInserted.get(), eventsInserted.get(), e);
+            exitCode = 1;
+        }
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+
+    private void run() throws Exception {
+        if (users <= 0) {
+            throw new IllegalArgumentException("app.datagen.users must be positive");
+        }
+        buildHourCdf();
+        long start = System.currentTimeMillis();
+        int[] eventCounts = eventCounts();
+
+        long firstUserId = blockIdAllocator.reserveRange("users", users);
+        long firstEventId = blockIdAllocator.reserveRange("user_events", Math.max(1, events));
+        String passwordHash = passwordEncoder.encode(password);
+        boolean mySql = isMySql();
+        logger.info("Generating {} users (ids from {}) and {} events (ids from {}) on {} threads",
+                users, firstUserId, events, firstEventId, threads);
+
+        // More slices than threads so a slice holding a heavy-tailed user does not hold up the rest
+        int slices = Math.min(users, threads * 8);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        long eventOffset = 0;
+        for (int slice = 0; slice < slices; slice++) {
+            int from = (int) ((long) users * slice / slices);
+            int to = (int) ((long) users * (slice + 1) / slices);
+            long sliceFirstEventId = firstEventId + eventOffset;
+            long sliceSeed = seed * 31 + slice;
+            futures.add(executor.submit(() -> {
+                loadSlice(from, to, firstUserId, sliceFirstEventId, eventCounts, passwordHash, mySql, sliceSeed);
+                return null;
+            }));
+            for (int i = from; i < to; i++) {
+                eventOffset += eventCounts[i];
+            }
+        }
+        executor.shutdown();
+
+        while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logProgress(start);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        logProgress(start);
+        logger.info("Dataset generation completed in {} s", (System.currentTimeMillis() - start) / 1000);
+    }
+
+    // At least one event (registration) per user when there are enough, the rest shared out by Pareto
+    // weights; whatever the per-user cap cuts off is spread uniformly
+    private int[] eventCounts() {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] counts = new int[users];
+        long base = events >= users ? 1 : 0;
+        long remaining = events - base * users;
+
+        float[] weights = new float[users];
+        double total = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = (float) Math.pow(1 - random.nextDouble(), -1 / paretoAlpha);
+            total += weights[i];
+        }
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            long share = (long) (weights[i] / total * remaining);
+            counts[i] = (int) Math.min(maxEventsPerUser, base + share);
+            assigned += counts[i];
+        }
+        for (long left = events - assigned; left > 0; left--) {
+            counts[random.nextInt(users)]++;
+        }
+        return counts;
+    }
+
+    private void loadSlice(int from, int to, long firstUserId, long firstEventId, int[] eventCounts,
+                           String passwordHash, boolean mySql, long sliceSeed) {
+        SplittableRandom random = new SplittableRandom(sliceSeed);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime windowStart = now.minusDays(days);
+        long eventId = firstEventId;
+
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> eventRows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long userId = firstUserId + i;
+            int count = eventCounts[i];
+            boolean deleted = random.nextDouble() < deletedFraction;
+            boolean verified = deleted || random.nextDouble() >= unverifiedFraction;
+            LocalDateTime registered = diurnalTime(random, windowStart, now);
+            LocalDateTime deletedAt = deleted ? diurnalTime(random, registered, now) : null;
+            LocalDateTime lastActivity = deleted ? deletedAt : now;
+
+            userRows.add(userRow(userId, random, passwordHash, verified, deleted, deletedAt));
+
+            for (int e = 0; e < count; e++) {
+                EventType type;
+                LocalDateTime time;
+                if (e == 0) {
+                    type = EventType.USER_REGISTERED;
+                    time = registered;
+                } else if (e == 1 && verified) {
+                    type = EventType.USER_VERIFIED;
+                    time = registered.plusMinutes(1 + random.nextInt(60));
+                } else if (e == count - 1 && deleted) {
+                    type = EventType.USER_DELETED;
+                    time = deletedAt;
+                } else {
+                    type = followUpType(random);
+                    time = diurnalTime(random, registered, lastActivity);
+                }
+                eventRows.add(new Object[]{eventId++, userId, type.name(), Timestamp.valueOf(time)});
+                // Users go in before their events, so a heavy user can be split across batches
+                if (eventRows.size() >= batchSize) {
+                    flush(userRows, eventRows, mySql);
+                }
+            }
+
+            if (userRows.size() >= batchSize) {
+                flush(userRows, eventRows, mySql);
+            }
+        }
+        flush(userRows, eventRows, mySql);
+    }
+
+    private Object[] userRow(long userId, SplittableRandom random, String passwordHash, boolean verified,
+                             boolean deleted, LocalDateTime deletedAt) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String surname = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String username = SearchText.normalize(name + "." + surname) + userId;
+        String email = username + "@datagen.example.com";
+        String role = random.nextInt(1000) == 0 ? "ADMIN" : "USER";
+        return new Object[]{userId, name, surname, username, "+999" + userId, email, passwordHash, verified,
+                role, deleted ? "DELETED" : "ACTIVE", deletedAt == null ? null : Timestamp.valueOf(deletedAt),
+                username, email, SearchText.normalize(name), SearchText.normalize(surname)};
+    }
+
+    private void flush(List<Object[]> userRows, List<Object[]> eventRows, boolean mySql) {
+        if (userRows.isEmpty() && eventRows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (mySql && relaxedChecks) {
+                jdbcTemplate.execute("SET SESSION unique_checks = 0, foreign_key_checks = 0");
+            }
+            try {
+                if (!userRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate("INSERT INTO users (id, name, surname, username, phone, email, password, " +
+                            "enabled, user_role, user_status, deleted_at, password_change_attempts, version, " +
+                            "username_normalized, email_normalized, name_normalized, surname_normalized) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?)", userRows);
+                }
+                if (!eventRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(
+                            "INSERT INTO user_events (id, user_id, event_type, event_time) VALUES (?, ?, ?, ?)", eventRows);
+                }
+            } finally {
+                if (mySql && relaxedChecks) {
+                    jdbcTemplate.execute("SET SESSION unique_checks = 1, foreign_key_checks = 1");
+                }
+            }
+        });
+        usersInserted.addAndGet(userRows.size());
+        eventsInserted.addAndGet(eventRows.size());
+        userRows.clear();
+        eventRows.clear();
+    }
+
+    // Relative activity per hour of day: peak at 14:00, about a ninth of that at 02:00
+    private void buildHourCdf() {
+        double total = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            total += 1 + 0.8 * Math.cos(2 * Math.PI * (hour - 14) / 24);
+            hourCdf[hour] = total;
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            hourCdf[hour] /= total;
+        }
+    }
+
+    // Uniform day within [from, to], hour of day from the daily cycle; uniform when the range is under a day
+    private LocalDateTime diurnalTime(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long seconds = Duration.between(from, to).getSeconds();
+        if (seconds <= 0) {
+            return from;
+        }
+        if (seconds >= 86400) {
+            LocalDate firstDay = from.toLocalDate();
+            long dayCount = Duration.between(firstDay.atStartOfDay(), to).toDays() + 1;
+            for (int attempt = 0; attempt < 4; attempt++) {
+                LocalDateTime candidate = firstDay.plusDays(random.nextLong(dayCount)).atStartOfDay()
+                        .plusHours(hourOfDay(random.nextDouble()))
+                        .plusSeconds(random.nextInt(3600));
+                if (!candidate.isBefore(from) && !candidate.isAfter(to)) {
+                    return candidate;
+                }
+            }
+        }
+        return from.plusSeconds(random.nextLong(seconds + 1));
+    }
+
+    private int hourOfDay(double u) {
+        for (int hour = 0; hour < 23; hour++) {
+            if (u < hourCdf[hour]) {
+                return hour;
+            }
+        }
+        return 23;
+    }
+
+    private EventType followUpType(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < FOLLOW_UP_TYPES.length - 1; i++) {
+            u -= FOLLOW_UP_WEIGHTS[i];
+            if (u < 0) {
+                return FOLLOW_UP_TYPES[i];
+            }
+        }
+        return FOLLOW_UP_TYPES[FOLLOW_UP_TYPES.length - 1];
+    }
+
+    private void logProgress(long start) {
+        double seconds = Math.max(1, System.currentTimeMillis() - start) / 1000.0;
+        logger.info("Inserted {} / {} users, {} / {} events ({} events/s)", usersInserted.get(), users,
+                eventsInserted.get(), events, (long) (eventsInserted.get() / seconds));
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.interviewproject.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection pool of its own for BlockIdAllocator. A block is reserved while the inserting thread's
+ * transaction already holds an application connection, so taking the reservation connection from
+ * the same pool could wait on the pool's own connection-timeout once it is saturated. Always the
+ * primary (spring.datasource.url), not a default candidate, like the admin bulkhead pool.
+ */
+@Configuration
+public class IdBlockConfiguration {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.ids.datasource.hikari")
+    public HikariDataSource idBlockDataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(properties.determineUrl())
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+        dataSource.setPoolName("id-blocks");
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+}
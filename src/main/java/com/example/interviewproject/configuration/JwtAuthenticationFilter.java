@@ -53,7 +53,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             final String userEmail = jwtService.extractUsername(jwt);
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = RequestTimings.time("user", () -> userDetailsService.loadUserByUsername(userEmail));
 
                 if (!jwtService.isTokenValid(jwt, userDetails)) {
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT Token");
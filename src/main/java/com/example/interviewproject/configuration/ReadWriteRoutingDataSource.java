@@ -0,0 +1,170 @@
+package com.example.interviewproject.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Reads stay on
+ * the primary while the replica is unreachable or lagging, and for a short window after the
+ * current user committed a write so they always see their own changes. Must sit behind a
+ * LazyConnectionDataSourceProxy: the read-only flag is only set after the transaction begins.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final long readYourWritesMs;
+
+    // Principal name -> time until which that user's reads go to the primary
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private volatile boolean replicaHealthy = true;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, long maxLagSeconds, long readYourWritesMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWritesMs = readYourWritesMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (!replicaHealthy || wroteRecently(currentPrincipal())) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == replica) {
+            try {
+                return opener.open(replica);
+            } catch (SQLException e) {
+                markReplica(false, "connection failed: " + e.getMessage());
+                return opener.open(primary);
+            }
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+        }
+        return opener.open(primary);
+    }
+
+    /**
+     * Probe the replica: reachable, replication running and lag within max-lag-seconds. A plain
+     * second instance without replication reports no replica status and counts as healthy.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void checkReplica() {
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until < now);
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                markReplica(true, "reachable, not replicating");
+                return;
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            if (rs.wasNull()) {
+                markReplica(false, "replication is stopped");
+            } else if (lag > maxLagSeconds) {
+                markReplica(false, "lagging " + lag + "s behind the primary");
+            } else {
+                markReplica(true, "lag " + lag + "s");
+            }
+        } catch (SQLException e) {
+            markReplica(false, "health check failed: " + e.getMessage());
+        }
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    private void markReplica(boolean healthy, String reason) {
+        if (replicaHealthy != healthy) {
+            if (healthy) {
+                logger.info("Read replica is healthy again ({}), routing read-only transactions to it", reason);
+            } else {
+                logger.warn("Read replica unavailable ({}), routing reads to the primary", reason);
+            }
+        }
+        replicaHealthy = healthy;
+    }
+
+    // A read-write transaction by an authenticated user pins that user's reads to the primary once it commits
+    private void recordWriteOnCommit() {
+        if (readYourWritesMs <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(principal, System.currentTimeMillis() + readYourWritesMs);
+            }
+        });
+    }
+
+    private boolean wroteRecently(String principal) {
+        if (principal == null) {
+            return false;
+        }
+        Long until = recentWriters.get(principal);
+        return until != null && until >= System.currentTimeMillis();
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
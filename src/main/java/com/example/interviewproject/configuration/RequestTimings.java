@@ -0,0 +1,100 @@
+package com.example.interviewproject.configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Time spent per phase (jwt, user, bcrypt, smtp...) by the request on the current thread, reported
+ * in the Server-Timing header. Bound to the thread by ServerTimingFilter only when server timing is
+ * enabled, so recording outside a timed request costs a thread-local lookup.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+    private final boolean exposeHeader;
+    private long bodyWriteNanos;
+
+    private RequestTimings(boolean exposeHeader) {
+        this.exposeHeader = exposeHeader;
+    }
+
+    static RequestTimings begin(boolean exposeHeader) {
+        RequestTimings timings = new RequestTimings(exposeHeader);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Timings of the request being handled on this thread, or null
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Add nanos to a phase of the current request, if any. Repeated calls accumulate.
+     */
+    public static void add(String phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            long[] total = timings.phases.computeIfAbsent(phase, p -> new long[2]);
+            total[0] += nanos;
+            total[1]++;
+        }
+    }
+
+    /**
+     * Run work and add its duration to a phase of the current request
+     */
+    public static <T> T time(String phase, Supplier<T> work) {
+        if (CURRENT.get() == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            add(phase, System.nanoTime() - start);
+        }
+    }
+
+    // First call wins: a body is serialized once, error handling may attempt a second write
+    boolean markBodyWrite() {
+        if (bodyWriteNanos != 0) {
+            return false;
+        }
+        bodyWriteNanos = System.nanoTime();
+        return true;
+    }
+
+    boolean isExposeHeader() {
+        return exposeHeader;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getBodyWriteNanos() {
+        return bodyWriteNanos;
+    }
+
+    /**
+     * Phase name -> {nanos, count}, in the order phases were first recorded
+     */
+    Map<String, long[]> getPhases() {
+        return phases;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.interviewproject.configuration;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -37,14 +38,20 @@ public class SecurityConfiguration {
                         .disable() // Disable CSRF for H2 console
                 )
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async results (admin bulkheads) and error pages belong to a request already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers(
                                 "/api/v1/auth/**",
                                 "/h2-console/**", // Allow H2 console access
                                 "/swagger-ui/**", // Allow Swagger UI access
                                 "/api-docs/**", // Allow OpenAPI/Swagger documentation access
                                 "/swagger-resources/**", // Allow Swagger resources
-                                "/webjars/**" // Allow webjars (used by Swagger)
+                                "/webjars/**", // Allow webjars (used by Swagger)
+                                "/actuator/health",
+                                "/actuator/health/liveness", // Container probes
+                                "/actuator/health/readiness"
                         ).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/users/my-profile/**").authenticated()
                         .requestMatchers("/api/v1/events/my-events/**").authenticated()
                         .anyRequest().authenticated()
@@ -0,0 +1,37 @@
+package com.example.interviewproject.configuration;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks where the handler finished and the message converter starts writing the body, splitting a
+ * timed request into its app and serialize phases. The Server-Timing header is set here, while the
+ * response is not yet committed, so the body never has to be buffered for it.
+ */
+@ControllerAdvice
+public class ServerTimingBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestTimings.current() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && timings.markBodyWrite() && timings.isExposeHeader()) {
+            response.getHeaders().set(ServerTimingFilter.HEADER,
+                    ServerTimingFilter.header(timings, timings.getBodyWriteNanos()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.interviewproject.configuration;
+
+import com.example.interviewproject.dto.response.ServerTimingSample;
+import com.example.interviewproject.service.ServerTimingSamples;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Adds a Server-Timing header with the request's phase breakdown (db, jwt, user, bcrypt, smtp, app)
+ * and samples breakdowns into ServerTimingSamples. Enabled with app.server-timing.enabled. The header
+ * is sent with the body, so it stops where serialization starts; serialize and total are only in the
+ * samples. Runs inside SqlAccountingFilter so the request's SQL time is available.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+    private final ServerTimingSamples samples;
+
+    @Value("${app.server-timing.enabled:false}")
+    private boolean enabled;
+
+    // With false, breakdowns are only sampled for admins and not sent to clients
+    @Value("${app.server-timing.expose-header:true}")
+    private boolean exposeHeader;
+
+    public ServerTimingFilter(ServerTimingSamples samples) {
+        this.samples = samples;
+    }
+
+    // The body of an async request is written in a later dispatch, which finishes the timing
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimings timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+        if (timings == null) {
+            timings = RequestTimings.begin(exposeHeader);
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+        } else {
+            RequestTimings.bind(timings);
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            if (!isAsyncStarted(request)) {
+                finish(request, response, timings);
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        long end = System.nanoTime();
+        // Responses without a converter-written body (errors, empty bodies) get the header here if still possible
+        if (exposeHeader && !response.isCommitted() && !response.containsHeader(HEADER)) {
+            response.setHeader(HEADER, header(timings, end));
+        }
+
+        double totalMs = millis(end - timings.getStartNanos());
+        if (samples.shouldSample(totalMs)) {
+            Map<String, Double> phases = new LinkedHashMap<>();
+            long bodyWrite = timings.getBodyWriteNanos();
+            phases.put("app", millis((bodyWrite != 0 ? bodyWrite : end) - timings.getStartNanos()));
+            if (bodyWrite != 0) {
+                phases.put("serialize", millis(end - bodyWrite));
+            }
+            SqlRequestStats sql = SqlRequestStats.current();
+            if (sql != null && sql.getStatements() > 0) {
+                phases.put("db", millis(sql.getSqlNanos()));
+            }
+            for (Map.Entry<String, long[]> phase : timings.getPhases().entrySet()) {
+                phases.put(phase.getKey(), millis(phase.getValue()[0]));
+            }
+            samples.record(new ServerTimingSample(LocalDateTime.now(), request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), totalMs, phases));
+        }
+    }
+
+    /**
+     * Header value for the phases recorded until appEnd, which is also where the app phase ends
+     */
+    static String header(RequestTimings timings, long appEnd) {
+        StringBuilder header = new StringBuilder();
+        SqlRequestStats sql = SqlRequestStats.current();
+        if (sql != null && sql.getStatements() > 0) {
+            entry(header, "db", millis(sql.getSqlNanos()), sql.getStatements() + " statements");
+        }
+        for (Map.Entry<String, long[]> phase : timings.getPhases().entrySet()) {
+            long[] total = phase.getValue();
+            entry(header, phase.getKey(), millis(total[0]), total[1] > 1 ? total[1] + " calls" : null);
+        }
+        entry(header, "app", millis(appEnd - timings.getStartNanos()), null);
+        return header.toString();
+    }
+
+    private static void entry(StringBuilder header, String name, double ms, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", ms));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
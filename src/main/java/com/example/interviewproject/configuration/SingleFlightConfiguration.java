@@ -0,0 +1,51 @@
+package com.example.interviewproject.configuration;
+
+import com.example.interviewproject.Utils.SingleFlight;
+import com.example.interviewproject.service.Coalesced;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-flight for @Coalesced service methods, keyed by method and arguments. The advisor runs
+ * ahead of the transaction interceptor, so callers waiting for an in-flight call hold no
+ * transaction or connection. Counted in singleflight.calls{method, outcome=executed|coalesced}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SingleFlightConfiguration {
+
+    private record Key(Method method, List<Object> arguments) {
+    }
+
+    // Infrastructure role: without AspectJ only infrastructure advisors are applied by the auto-proxy creator
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor coalescedAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        SingleFlight<Key> singleFlight = new SingleFlight<>();
+        MethodInterceptor interceptor = invocation -> {
+            Method method = invocation.getMethod();
+            SingleFlight.Result result = singleFlight.execute(
+                    new Key(method, Arrays.asList(invocation.getArguments())), invocation::proceed);
+            meterRegistry.getObject().counter("singleflight.calls",
+                    "method", method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                    "outcome", result.shared() ? "coalesced" : "executed").increment();
+            return result.value();
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Coalesced.class), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
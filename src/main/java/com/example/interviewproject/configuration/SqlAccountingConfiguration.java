@@ -0,0 +1,63 @@
+package com.example.interviewproject.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps each connection pool in a datasource-proxy that reports statements to SqlStatementListener.
+ * Only the pools themselves are wrapped, so statements are counted once whether or not the
+ * read/write routing data source sits in front of them.
+ */
+@Configuration
+public class SqlAccountingConfiguration {
+
+    // Static: post-processors are created before regular beans and must not pull in this configuration.
+    // Declared with the Ordered type so it is applied before unordered post-processors (the bulkhead
+    // routing wrapper) and still sees the bare pools
+    @Bean
+    static SqlAccountingPostProcessor sqlAccountingDataSourcePostProcessor(Environment environment) {
+        return new SqlAccountingPostProcessor(
+                environment.getProperty("app.sql.accounting.enabled", Boolean.class, true),
+                environment.getProperty("app.sql.count-rows-read", Boolean.class, true),
+                new SqlStatementListener(
+                        environment.getProperty("app.sql.slow-query-ms", Long.class, 200L),
+                        environment.getProperty("app.sql.slow-query-log-per-minute", Integer.class, 60),
+                        environment.getProperty("app.sql.log-parameters", Boolean.class, false)));
+    }
+
+    static class SqlAccountingPostProcessor implements BeanPostProcessor, Ordered {
+        private final boolean enabled;
+        private final boolean countRowsRead;
+        private final SqlStatementListener listener;
+
+        SqlAccountingPostProcessor(boolean enabled, boolean countRowsRead, SqlStatementListener listener) {
+            this.enabled = enabled;
+            this.countRowsRead = countRowsRead;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof HikariDataSource dataSource)) {
+                return bean;
+            }
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(listener);
+            if (countRowsRead) {
+                builder.proxyResultSet().methodListener(listener);
+            }
+            return builder.build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
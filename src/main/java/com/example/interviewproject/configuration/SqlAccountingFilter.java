@@ -0,0 +1,95 @@
+package com.example.interviewproject.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects SQL statement counts, time and rows per HTTP request and logs requests over the
+ * statement or SQL time thresholds along with their most repeated statement. Runs ahead of the
+ * security filters so the JWT user lookup is included. Async requests (bulkhead endpoints) are
+ * reported when their async dispatch ends, so the statements run on the bulkhead thread count.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlAccountingFilter.class);
+    private static final String STATS_ATTRIBUTE = SqlAccountingFilter.class.getName() + ".stats";
+
+    private final DistributionSummary statementsPerRequest;
+
+    @Value("${app.sql.accounting.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.request-statement-threshold:25}")
+    private int statementThreshold;
+
+    @Value("${app.sql.request-time-threshold-ms:500}")
+    private long timeThresholdMs;
+
+    public SqlAccountingFilter(MeterRegistry meterRegistry) {
+        this.statementsPerRequest = DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .serviceLevelObjectives(1, 2, 5, 10, 25, 50, 100)
+                .register(meterRegistry);
+    }
+
+    // The work of an async request finishes before its async dispatch, which reports the stats
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SqlRequestStats stats = (SqlRequestStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = SqlRequestStats.begin(request.getMethod() + " " + request.getRequestURI());
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        } else {
+            SqlRequestStats.bind(stats);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            if (!isAsyncStarted(request)) {
+                report(stats);
+            }
+        }
+    }
+
+    private void report(SqlRequestStats stats) {
+        statementsPerRequest.record(stats.getStatements());
+        long sqlMs = TimeUnit.NANOSECONDS.toMillis(stats.getSqlNanos());
+        if (stats.getStatements() < statementThreshold && sqlMs < timeThresholdMs) {
+            return;
+        }
+        Map.Entry<String, Integer> repeated = stats.getMostRepeated();
+        logger.warn("{} issued {} SQL statements taking {} ms (rows read {}, affected {}); most repeated x{}: {}",
+                stats.getRequest(), stats.getStatements(), sqlMs, stats.getRowsRead(), stats.getRowsAffected(),
+                repeated == null ? 0 : repeated.getValue(), repeated == null ? "-" : repeated.getKey());
+    }
+}
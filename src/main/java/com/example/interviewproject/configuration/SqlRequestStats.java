@@ -0,0 +1,97 @@
+package com.example.interviewproject.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements, time and rows for the request on the current thread. Bound to the thread by
+ * SqlAccountingFilter and handed to bulkhead threads by Bulkhead; statements issued outside a
+ * request (scheduled jobs, background pools) find no current stats and are only checked against
+ * the slow-query threshold. A request's stats are used by one thread at a time.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+    // Distinct statements tracked for repeat (N+1) detection, further ones are only counted
+    private static final int MAX_DISTINCT_STATEMENTS = 64;
+
+    private final String request;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long sqlNanos;
+    private long rowsRead;
+    private long rowsAffected;
+    private long statementStart;
+
+    private SqlRequestStats(String request) {
+        this.request = request;
+    }
+
+    static SqlRequestStats begin(String request) {
+        SqlRequestStats stats = new SqlRequestStats(request);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void bind(SqlRequestStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request being handled on this thread, or null
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    void statementFinished(String sql, long affected) {
+        statements++;
+        sqlNanos += System.nanoTime() - statementStart;
+        rowsAffected += affected;
+        Integer count = executions.get(sql);
+        if (count != null) {
+            executions.put(sql, count + 1);
+        } else if (executions.size() < MAX_DISTINCT_STATEMENTS) {
+            executions.put(sql, 1);
+        }
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    /**
+     * The statement executed most often in this request with its count, the usual N+1 signature
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
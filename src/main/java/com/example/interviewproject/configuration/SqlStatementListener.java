@@ -0,0 +1,212 @@
+package com.example.interviewproject.configuration;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds every JDBC statement into the current request's SqlRequestStats and logs slow statements,
+ * at most slow-query-log-per-minute of them. Bound parameters are only logged when log-parameters is on,
+ * and password hashes and verification codes are redacted even then.
+ */
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementListener.class);
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final int MAX_LOGGED_BATCH_ENTRIES = 3;
+    private static final Set<String> REDACTED_COLUMNS = Set.of("password", "verification_code");
+    private static final String REDACTED = "***";
+    private static final Pattern INSERT_COLUMNS =
+            Pattern.compile("\\s*insert\\s+(?:ignore\\s+)?into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\(",
+                    Pattern.CASE_INSENSITIVE);
+
+    private final long slowQueryMs;
+    private final int slowQueryLogPerMinute;
+    private final boolean logParameters;
+
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+
+    public SqlStatementListener(long slowQueryMs, int slowQueryLogPerMinute, boolean logParameters) {
+        this.slowQueryMs = slowQueryMs;
+        this.slowQueryLogPerMinute = slowQueryLogPerMinute;
+        this.logParameters = logParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statementFinished(sql(queryInfoList), rowsAffected(execInfo.getResult()));
+        }
+        if (slowQueryMs > 0 && execInfo.getElapsedTime() >= slowQueryMs && permitLog()) {
+            String request = stats == null ? "" : " in " + stats.getRequest();
+            if (logParameters) {
+                logger.warn("Slow SQL {} ms{}: {} | parameters: {}", execInfo.getElapsedTime(), request,
+                        sql(queryInfoList), parameters(queryInfoList));
+            } else {
+                logger.warn("Slow SQL {} ms{}: {}", execInfo.getElapsedTime(), request, sql(queryInfoList));
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    // Only registered when row counting is enabled, result sets are proxied for it
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.rowRead();
+            }
+        }
+    }
+
+    private boolean permitLog() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= 60_000 && windowStart.compareAndSet(start, now)) {
+            loggedInWindow.set(0);
+        }
+        return loggedInWindow.incrementAndGet() <= slowQueryLogPerMinute;
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        return queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    }
+
+    private static long rowsAffected(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    // Parameter values in the order they were bound, batches show their first few entries
+    static String parameters(List<QueryInfo> queryInfoList) {
+        List<String> entries = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            Set<Integer> redacted = redactedParameters(queryInfo.getQuery());
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            for (int i = 0; i < parametersList.size() && i < MAX_LOGGED_BATCH_ENTRIES; i++) {
+                entries.add(parametersList.get(i).stream()
+                        .map(operation -> redacted.contains(operation.getArgs()[0]) ? REDACTED : format(operation.getArgs()))
+                        .collect(Collectors.joining(", ", "[", "]")));
+            }
+            if (parametersList.size() > MAX_LOGGED_BATCH_ENTRIES) {
+                entries.add("... " + (parametersList.size() - MAX_LOGGED_BATCH_ENTRIES) + " more");
+            }
+        }
+        return String.join(" ", entries);
+    }
+
+    // 1-based indexes of the placeholders bound to a redacted column, either by position in an
+    // insert column list or as the right-hand side of a comparison such as "u1_0.password=?"
+    private static Set<Integer> redactedParameters(String sql) {
+        Set<Integer> redacted = new HashSet<>();
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        boolean isInsert = insert.lookingAt();
+        String[] insertColumns = isInsert ? insert.group(1).split(",") : new String[0];
+        int valuesStart = isInsert ? insert.end() : sql.length();
+
+        int index = 0;
+        int valueIndex = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c != '?' || quoted) {
+                continue;
+            }
+            index++;
+            String column = i >= valuesStart && valueIndex < insertColumns.length
+                    ? insertColumns[valueIndex++]
+                    : comparedColumn(sql, i);
+            if (REDACTED_COLUMNS.contains(columnName(column))) {
+                redacted.add(index);
+            }
+        }
+        return redacted;
+    }
+
+    private static String comparedColumn(String sql, int placeholder) {
+        int end = skipBack(sql, placeholder - 1, " \t\n=<>!");
+        String word = sql.substring(wordStart(sql, end), end + 1);
+        if (word.equalsIgnoreCase("like")) {
+            end = skipBack(sql, end - word.length(), " \t\n");
+            word = sql.substring(wordStart(sql, end), end + 1);
+        }
+        return word;
+    }
+
+    private static int skipBack(String sql, int position, String characters) {
+        while (position >= 0 && characters.indexOf(sql.charAt(position)) >= 0) {
+            position--;
+        }
+        return position;
+    }
+
+    private static int wordStart(String sql, int end) {
+        int start = end;
+        while (start >= 0 && (Character.isLetterOrDigit(sql.charAt(start)) || "_.`".indexOf(sql.charAt(start)) >= 0)) {
+            start--;
+        }
+        return start + 1;
+    }
+
+    // "u1_0.password" and "`password`" both name the password column
+    private static String columnName(String column) {
+        String name = column.trim().replace("`", "");
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String format(Object[] args) {
+        Object value = args.length > 1 ? args[1] : null;
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+}
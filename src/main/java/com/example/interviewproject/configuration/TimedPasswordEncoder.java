@@ -0,0 +1,40 @@
+package com.example.interviewproject.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times encode and matches of the wrapped encoder as password.encoder{operation}. With BCrypt these
+ * are deliberately slow and dominate login, signup and password change latency. Also reported as the
+ * bcrypt phase of the Server-Timing header.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("password.encoder").tag("operation", "encode")
+                .description("Password hashing").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.encoder").tag("operation", "matches")
+                .description("Password verification").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> RequestTimings.time("bcrypt", () -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> RequestTimings.time("bcrypt", () -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
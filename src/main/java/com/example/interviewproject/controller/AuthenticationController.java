@@ -4,9 +4,11 @@ import com.example.interviewproject.dto.request.UserLoginRequest;
 import com.example.interviewproject.dto.request.UserRegisterRequest;
 import com.example.interviewproject.dto.request.VerifyUserRequest;
 import com.example.interviewproject.dto.response.LoginResponse;
+import com.example.interviewproject.dto.response.UserResponse;
 import com.example.interviewproject.model.User;
 import com.example.interviewproject.service.AuthenticationService;
 import com.example.interviewproject.service.JwtService;
+import com.example.interviewproject.service.UserAvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,6 +20,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -26,6 +30,7 @@ public class AuthenticationController {
 
     private final JwtService jwtService;
     private final AuthenticationService authenticationService;
+    private final UserAvailabilityService userAvailabilityService;
 
     @Operation(summary = "Register a new user")
     @ApiResponses(value = {
@@ -36,10 +41,26 @@ public class AuthenticationController {
     })
     @PostMapping("/signup")
     @ResponseStatus(HttpStatus.OK)
-    public User register(@Valid @RequestBody UserRegisterRequest userRegisterRequest) {
+    public UserResponse register(@Valid @RequestBody UserRegisterRequest userRegisterRequest) {
         return authenticationService.signup(userRegisterRequest);
     }
 
+    @Operation(summary = "Check whether an email, username or phone is still available")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability of each provided value"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/availability")
+    public Map<String, Boolean> checkAvailability(
+            @Parameter(description = "Email to check", example = "user@example.com")
+            @RequestParam(required = false) String email,
+            @Parameter(description = "Username to check", example = "johndoe")
+            @RequestParam(required = false) String username,
+            @Parameter(description = "Phone to check", example = "+994501234567")
+            @RequestParam(required = false) String phone) {
+        return userAvailabilityService.checkAvailability(email, username, phone);
+    }
+
     @Operation(summary = "Authenticate user and get JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User authenticated successfully"),
@@ -0,0 +1,45 @@
+package com.example.interviewproject.controller;
+
+import com.example.interviewproject.dto.response.ServerTimingSample;
+import com.example.interviewproject.service.ServerTimingSamples;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@RequiredArgsConstructor
+@Tag(name = "Diagnostics", description = "APIs for inspecting request latency")
+public class DiagnosticsController {
+
+    private final ServerTimingSamples serverTimingSamples;
+
+    @Operation(summary = "Get sampled Server-Timing breakdowns (Admin)",
+            description = "Newest first; empty unless app.server-timing.enabled is set")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved samples"),
+            @ApiResponse(responseCode = "401", description = "User not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/server-timing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ServerTimingSample>> getServerTimingSamples(
+            @Parameter(description = "Maximum number of samples", example = "50")
+            @RequestParam(defaultValue = "50", required = false) int limit,
+            @Parameter(description = "Only samples at least this long in total", example = "0")
+            @RequestParam(defaultValue = "0", required = false) double minTotalMs) {
+        return ResponseEntity.ok(serverTimingSamples.latest(Math.max(0, limit), minTotalMs));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.interviewproject.controller;
 
+import com.example.interviewproject.Utils.ConditionalGet;
+import com.example.interviewproject.configuration.AdminBulkheads;
+import com.example.interviewproject.dto.response.UserEventResponse;
 import com.example.interviewproject.model.EventType;
-import com.example.interviewproject.model.UserEvent;
 import com.example.interviewproject.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,11 +14,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/events")
@@ -25,36 +30,42 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final AdminBulkheads adminBulkheads;
 
     @Operation(summary = "Get events for current user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved current user events"),
+            @ApiResponse(responseCode = "304", description = "No new events since the given ETag"),
             @ApiResponse(responseCode = "401", description = "User not authenticated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/my-events")
-    public Page<UserEvent> getCurrentUserEvents(
+    public ResponseEntity<Page<UserEventResponse>> getCurrentUserEvents(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0", required = false) int page,
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10", required = false) int size,
             @Parameter(description = "Sort field and direction", example = "eventTime,desc")
-            @RequestParam(defaultValue = "eventTime,desc", required = false) String[] sort) {
+            @RequestParam(defaultValue = "eventTime,desc", required = false) String[] sort,
+            WebRequest webRequest) {
 
-        return eventService.getCurrentUserEvents(
-                org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by(parseSort(sort))));
+        return ConditionalGet.respond(webRequest, eventService.getCurrentUserEventsEtag(),
+                () -> eventService.getCurrentUserEvents(
+                        org.springframework.data.domain.PageRequest.of(page, size,
+                                org.springframework.data.domain.Sort.by(parseSort(sort)))));
     }
 
     @Operation(summary = "Get latest events for current user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved latest events"),
+            @ApiResponse(responseCode = "304", description = "No new events since the given ETag"),
             @ApiResponse(responseCode = "401", description = "User not authenticated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/my-events/latest")
-    public List<UserEvent> getLatestEvents() {
-        return eventService.getLatestEventsForCurrentUser();
+    public ResponseEntity<List<UserEventResponse>> getLatestEvents(WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, eventService.getCurrentUserEventsEtag(),
+                eventService::getLatestEventsForCurrentUser);
     }
 
     // ==================== ADMIN ENDPOINTS ====================
@@ -63,11 +74,12 @@ public class EventController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of events"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<UserEvent> getAllEvents(
+    public CompletableFuture<Page<UserEventResponse>> getAllEvents(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0", required = false) int page,
             @Parameter(description = "Number of items per page", example = "10")
@@ -88,9 +100,10 @@ public class EventController {
                         org.springframework.data.domain.Sort.by(parseSort(sort)));
 
         if (userId != null || eventType != null || startDate != null || endDate != null) {
-            return eventService.getEventsByFilters(userId, eventType, startDate, endDate, pageable);
+            return adminBulkheads.events().submit(
+                    () -> eventService.getEventsByFilters(userId, eventType, startDate, endDate, pageable));
         }
-        return eventService.getAllEvents(pageable);
+        return adminBulkheads.events().submit(() -> eventService.getAllEvents(pageable));
     }
 
     @Operation(summary = "Get events by user ID (Admin)")
@@ -98,11 +111,12 @@ public class EventController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved events for the user"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
             @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<UserEvent> getEventsByUserId(
+    public CompletableFuture<Page<UserEventResponse>> getEventsByUserId(
             @Parameter(description = "ID of the user", required = true, example = "1")
             @PathVariable Long userId,
             @Parameter(description = "Page number (0-indexed)", example = "0")
@@ -110,22 +124,25 @@ public class EventController {
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10", required = false) int size,
             @Parameter(description = "Sort field and direction", example = "eventTime,desc")
-            @RequestParam(defaultValue = "eventTime,desc", required = false) String[] sort) {
+            @RequestParam(defaultValue = "eventTime,desc", required = false) String[] sort,
+            @Parameter(description = "Return archived events when the user has been archived")
+            @RequestParam(defaultValue = "false", required = false) boolean includeArchived) {
 
-        return eventService.getEventsByUserId(userId,
+        return adminBulkheads.events().submit(() -> eventService.getEventsByUserId(userId, includeArchived,
                 org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by(parseSort(sort))));
+                        org.springframework.data.domain.Sort.by(parseSort(sort)))));
     }
 
     @Operation(summary = "Get events by type (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved events by type"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/type/{eventType}")
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<UserEvent> getEventsByType(
+    public CompletableFuture<Page<UserEventResponse>> getEventsByType(
             @Parameter(description = "Type of event to filter by", required = true)
             @PathVariable EventType eventType,
             @Parameter(description = "Page number (0-indexed)", example = "0")
@@ -135,9 +152,9 @@ public class EventController {
             @Parameter(description = "Sort field and direction", example = "eventTime,desc")
             @RequestParam(defaultValue = "eventTime,desc", required = false) String[] sort) {
 
-        return eventService.getEventsByType(eventType,
+        return adminBulkheads.events().submit(() -> eventService.getEventsByType(eventType,
                 org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by(parseSort(sort))));
+                        org.springframework.data.domain.Sort.by(parseSort(sort)))));
     }
 
     @Operation(summary = "Get event by ID (Admin)")
@@ -149,7 +166,7 @@ public class EventController {
     })
     @GetMapping("/{eventId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public UserEvent getEventById(
+    public UserEventResponse getEventById(
             @Parameter(description = "ID of the event to retrieve", required = true, example = "1")
             @PathVariable Long eventId) {
         return eventService.getEventById(eventId);
@@ -175,31 +192,34 @@ public class EventController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved event count"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/count/user/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public Long countEventsByUserId(
+    public CompletableFuture<Long> countEventsByUserId(
             @Parameter(description = "ID of the user", required = true, example = "1")
             @PathVariable Long userId) {
-        return eventService.countEventsByUserId(userId);
+        return adminBulkheads.events().submit(() -> eventService.countEventsByUserId(userId));
     }
 
     @Operation(summary = "Get event count by type (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved event count"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/count/type/{eventType}")
     @PreAuthorize("hasRole('ADMIN')")
-    public Long countEventsByType(
+    public CompletableFuture<Long> countEventsByType(
             @Parameter(description = "Type of event", required = true)
             @PathVariable EventType eventType) {
-        return eventService.countEventsByType(eventType);
+        return adminBulkheads.events().submit(() -> eventService.countEventsByType(eventType));
     }
 
-    private org.springframework.data.domain.Sort.Order[] parseSort(String[] sort) {
+    // Package-private for EventControllerBenchmark
+    static org.springframework.data.domain.Sort.Order[] parseSort(String[] sort) {
         return new org.springframework.data.domain.Sort.Order[]{
                 sort.length > 1 && sort[1].equalsIgnoreCase("asc")
                         ? org.springframework.data.domain.Sort.Order.asc(sort[0])
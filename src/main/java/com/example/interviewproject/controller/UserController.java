@@ -1,8 +1,16 @@
 package com.example.interviewproject.controller;
 
+import com.example.interviewproject.Utils.ConditionalGet;
+import com.example.interviewproject.configuration.AdminBulkheads;
+import com.example.interviewproject.dto.request.BulkUserUpdateRequest;
 import com.example.interviewproject.dto.request.PasswordRequest;
-import com.example.interviewproject.model.User;
+import com.example.interviewproject.dto.response.BulkOperationStatus;
+import com.example.interviewproject.dto.response.UserImportReport;
+import com.example.interviewproject.dto.response.UserResponse;
+import com.example.interviewproject.model.UserSearchMode;
 import com.example.interviewproject.model.UserStatus;
+import com.example.interviewproject.service.BulkUserOperationService;
+import com.example.interviewproject.service.UserImportService;
 import com.example.interviewproject.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +21,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -26,16 +39,21 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final BulkUserOperationService bulkUserOperationService;
+    private final UserImportService userImportService;
+    private final AdminBulkheads adminBulkheads;
 
     @Operation(summary = "Get current user profile")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved user profile"),
+            @ApiResponse(responseCode = "304", description = "Profile unchanged since the given ETag"),
             @ApiResponse(responseCode = "401", description = "User not authenticated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/my-profile")
-    public User getAuthenticatedUser() {
-        return userService.getCurrentUser();
+    public ResponseEntity<UserResponse> getAuthenticatedUser(WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, userService.getCurrentUserEtag(),
+                userService::getCurrentUserProfile);
     }
 
     @Operation(summary = "Change current user password")
@@ -71,12 +89,14 @@ public class UserController {
     @Operation(summary = "Get all users with pagination and filtering (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of users"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag (unfiltered listing)"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<User> getAllUsers(
+    public CompletableFuture<ResponseEntity<Page<UserResponse>>> getAllUsers(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0", required = false) int page,
             @Parameter(description = "Number of items per page", example = "10")
@@ -86,75 +106,108 @@ public class UserController {
             @Parameter(description = "Filter by user status")
             @RequestParam(required = false) UserStatus status,
             @Parameter(description = "Search query for username or email")
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            WebRequest webRequest) {
 
+        org.springframework.data.domain.Pageable pageable =
+                org.springframework.data.domain.PageRequest.of(page, size,
+                        org.springframework.data.domain.Sort.by(parseSort(sort)));
         if (status != null || search != null) {
-            return userService.getUsersByFilters(status, search,
-                    org.springframework.data.domain.PageRequest.of(page, size,
-                            org.springframework.data.domain.Sort.by(parseSort(sort))));
+            return adminBulkheads.users().submit(
+                    () -> ResponseEntity.ok(userService.getUsersByFilters(status, search, pageable)));
         }
-        return userService.getAllUsers(
-                org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by(parseSort(sort))));
+        // Unfiltered pages are answered from the ETag or a single page read, on the request thread
+        return CompletableFuture.completedFuture(ConditionalGet.respond(webRequest,
+                userService.getUsersPageEtag(pageable), () -> userService.getAllUsers(pageable)));
     }
 
     @Operation(summary = "Get all users without pagination (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of users"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<User> getAllUsersList() {
-        return userService.getAllUsersList();
+    public CompletableFuture<List<UserResponse>> getAllUsersList() {
+        return adminBulkheads.users().submit(userService::getAllUsersList);
     }
 
     @Operation(summary = "Get user by ID (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved user"),
+            @ApiResponse(responseCode = "304", description = "User unchanged since the given ETag"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public User getUserById(
+    public ResponseEntity<UserResponse> getUserById(
             @Parameter(description = "ID of the user to retrieve", required = true, example = "1")
-            @PathVariable Long userId) {
-        return userService.getUserById(userId);
+            @PathVariable Long userId,
+            @Parameter(description = "Also look up users moved to the archive")
+            @RequestParam(defaultValue = "false", required = false) boolean includeArchived,
+            WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, userService.getUserEtag(userId, includeArchived),
+                () -> userService.getUserById(userId, includeArchived));
+    }
+
+    @Operation(summary = "Get archived users with pagination (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved archived users"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/archived")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<Page<UserResponse>> getArchivedUsers(
+            @Parameter(description = "Page number (0-indexed)", example = "0")
+            @RequestParam(defaultValue = "0", required = false) int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10", required = false) int size) {
+
+        return adminBulkheads.users().submit(() -> userService.getArchivedUsers(
+                org.springframework.data.domain.PageRequest.of(page, size,
+                        org.springframework.data.domain.Sort.by("archivedAt").descending())));
     }
 
     @Operation(summary = "Search users (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved search results"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<User> searchUsers(
+    public CompletableFuture<Page<UserResponse>> searchUsers(
             @Parameter(description = "Search query", required = true, example = "john")
             @RequestParam String query,
+            @Parameter(description = "Search mode, defaults to app.search.mode")
+            @RequestParam(required = false) UserSearchMode mode,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0", required = false) int page,
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10", required = false) int size) {
 
-        return userService.searchUsers(query,
+        return adminBulkheads.users().submit(() -> userService.searchUsers(query, mode,
                 org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by("username").ascending()));
+                        org.springframework.data.domain.Sort.by("username").ascending())));
     }
 
     @Operation(summary = "Get users by status (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved users by status"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public Page<User> getUsersByStatus(
+    public CompletableFuture<Page<UserResponse>> getUsersByStatus(
             @Parameter(description = "User status to filter by", required = true)
             @PathVariable UserStatus status,
             @Parameter(description = "Page number (0-indexed)", example = "0")
@@ -162,21 +215,34 @@ public class UserController {
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10", required = false) int size) {
 
-        return userService.getUsersByStatus(status,
+        return adminBulkheads.users().submit(() -> userService.getUsersByStatus(status,
                 org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by("username").ascending()));
+                        org.springframework.data.domain.Sort.by("username").ascending())));
     }
 
     @Operation(summary = "Get user count statistics (Admin)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
             @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "503", description = "Too many admin requests in progress, retry after Retry-After"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/stats/count")
     @PreAuthorize("hasRole('ADMIN')")
-    public Map<String, Long> getUserCountStats() {
-        return userService.getUserCountStats();
+    public CompletableFuture<Map<String, Long>> getUserCountStats() {
+        return adminBulkheads.users().submit(userService::getUserCountStats);
+    }
+
+    @Operation(summary = "Get user cache statistics (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/stats/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Long> getUserCacheStats() {
+        return userService.getUserCacheStats();
     }
 
     @Operation(summary = "Reset user password (Admin)")
@@ -212,6 +278,73 @@ public class UserController {
         userService.deleteUserByAdmin(userId);
     }
 
+    @Operation(summary = "Change status or role of many users (Admin)",
+            description = "Targets the given user IDs, or every user matching filterStatus/filterSearch. " +
+                    "Runs in the background, poll the returned job for progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Bulk operation accepted"),
+            @ApiResponse(responseCode = "400", description = "No targets or no changes given"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BulkOperationStatus bulkUpdateUsers(@RequestBody BulkUserUpdateRequest request) {
+        return bulkUserOperationService.submit(request);
+    }
+
+    @Operation(summary = "Get bulk operation progress (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved bulk operation status"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "404", description = "Bulk operation not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/bulk/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkOperationStatus getBulkOperationStatus(
+            @Parameter(description = "ID of the bulk operation", required = true)
+            @PathVariable String jobId) {
+        return bulkUserOperationService.getStatus(jobId);
+    }
+
+    @Operation(summary = "Import users from a CSV file (Admin)",
+            description = "Header row: name,surname,username,email,phone,password (any order). " +
+                    "Runs in the background, poll the returned job for progress; invalid rows are skipped " +
+                    "and listed in the report.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import accepted"),
+            @ApiResponse(responseCode = "400", description = "Unreadable file or missing header columns"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public UserImportReport importUsers(
+            @Parameter(description = "CSV file with one user per row", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Queue verification emails for imported users")
+            @RequestParam(defaultValue = "true", required = false) boolean sendVerificationEmails) {
+        return userImportService.submit(file, sendVerificationEmails);
+    }
+
+    @Operation(summary = "Get user import progress and report (Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved import status"),
+            @ApiResponse(responseCode = "403", description = "Access denied - ADMIN role required"),
+            @ApiResponse(responseCode = "404", description = "Import not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportReport getImportStatus(
+            @Parameter(description = "ID of the import job", required = true)
+            @PathVariable String jobId) {
+        return userImportService.getStatus(jobId);
+    }
+
     private org.springframework.data.domain.Sort.Order[] parseSort(String[] sort) {
         return new org.springframework.data.domain.Sort.Order[]{
                 sort.length > 1 && sort[1].equalsIgnoreCase("asc")
@@ -0,0 +1,21 @@
+package com.example.interviewproject.dto.request;
+
+import com.example.interviewproject.model.UserRole;
+import com.example.interviewproject.model.UserStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkUserUpdateRequest {
+    // Target users: explicit ids, or every user matching the filter
+    private List<Long> userIds;
+    private UserStatus filterStatus;
+    private String filterSearch;
+
+    // Changes to apply, at least one is required
+    private UserStatus status;
+    private UserRole role;
+}
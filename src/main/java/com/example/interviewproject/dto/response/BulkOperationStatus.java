@@ -0,0 +1,23 @@
+package com.example.interviewproject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOperationStatus {
+    private String jobId;
+    private String state;
+    private long total;
+    private long processed;
+    private long updated;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
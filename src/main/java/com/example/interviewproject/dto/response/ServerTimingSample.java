@@ -0,0 +1,18 @@
+package com.example.interviewproject.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Phase breakdown of one sampled request, durations in milliseconds. Phases overlap: db time is
+ * also part of user and app, app covers everything before the response body was serialized.
+ */
+public record ServerTimingSample(
+        LocalDateTime recordedAt,
+        String method,
+        String path,
+        int status,
+        double totalMs,
+        Map<String, Double> phasesMs
+) {
+}
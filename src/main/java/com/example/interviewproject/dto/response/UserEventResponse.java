@@ -0,0 +1,17 @@
+package com.example.interviewproject.dto.response;
+
+import com.example.interviewproject.model.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event as returned by the API, carrying the owning user's id and username instead of the user entity
+ */
+public record UserEventResponse(
+        Long id,
+        EventType eventType,
+        LocalDateTime eventTime,
+        Long userId,
+        String username
+) {
+}
@@ -0,0 +1,39 @@
+package com.example.interviewproject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserImportReport {
+    private String jobId;
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    private String state;
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long verificationEmailsQueued;
+    private long durationMs;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    // Capped at app.import.max-reported-errors, failed still counts every rejected row
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int line;
+        private String field;
+        private String message;
+    }
+}
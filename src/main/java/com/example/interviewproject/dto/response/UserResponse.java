@@ -0,0 +1,25 @@
+package com.example.interviewproject.dto.response;
+
+import com.example.interviewproject.model.UserRole;
+import com.example.interviewproject.model.UserStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * User as returned by the API. Built by UserMapper or directly by JPQL constructor
+ * expressions, so credentials and verification codes never reach the response.
+ */
+public record UserResponse(
+        Long id,
+        String name,
+        String surname,
+        String username,
+        String email,
+        String phone,
+        boolean enabled,
+        UserRole userRole,
+        UserStatus userStatus,
+        int passwordChangeAttempts,
+        LocalDateTime deletedAt
+) {
+}
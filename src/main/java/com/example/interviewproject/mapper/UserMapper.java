@@ -0,0 +1,32 @@
+package com.example.interviewproject.mapper;
+
+import com.example.interviewproject.dto.response.UserEventResponse;
+import com.example.interviewproject.dto.response.UserResponse;
+import com.example.interviewproject.model.ArchivedUser;
+import com.example.interviewproject.model.ArchivedUserEvent;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserEvent;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * Entity to response mappings, implementation generated at compile time by MapStruct
+ */
+@Mapper(componentModel = "spring")
+public interface UserMapper {
+
+    UserResponse toResponse(User user);
+
+    UserResponse toResponse(ArchivedUser user);
+
+    List<UserResponse> toResponses(List<User> users);
+
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "username", source = "user.username")
+    UserEventResponse toResponse(UserEvent event);
+
+    @Mapping(target = "username", source = "username")
+    UserEventResponse toResponse(ArchivedUserEvent event, String username);
+}
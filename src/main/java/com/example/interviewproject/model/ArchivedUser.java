@@ -0,0 +1,60 @@
+package com.example.interviewproject.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * User deleted longer than the archive grace period, moved out of the live users table.
+ * Rows are written by UserArchivalService only, ids keep the value they had in users.
+ */
+@Entity
+@Table(name = "archived_users")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedUser {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String surname;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String phone;
+
+    @Column(nullable = false)
+    private String email;
+
+    @JsonIgnore
+    @Column(nullable = false)
+    private String password;
+
+    private boolean enabled;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private UserRole userRole;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private UserStatus userStatus;
+
+    private int passwordChangeAttempts;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
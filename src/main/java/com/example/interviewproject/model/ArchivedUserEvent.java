@@ -0,0 +1,34 @@
+package com.example.interviewproject.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event of an archived user, moved together with the user by UserArchivalService
+ */
+@Entity
+@Table(name = "archived_user_events", indexes = @Index(name = "idx_archived_user_events_user", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedUserEvent {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private EventType eventType;
+
+    @Column(name = "event_time", nullable = false)
+    private LocalDateTime eventTime;
+}
@@ -0,0 +1,19 @@
+package com.example.interviewproject.model;
+
+import com.example.interviewproject.service.BlockIdAllocator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class BlockIdGenerator implements IdentifierGenerator {
+
+    private final String name;
+
+    public BlockIdGenerator(BlockAllocatedId config) {
+        this.name = config.value();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return BlockIdAllocator.current().next(name);
+    }
+}
@@ -4,5 +4,7 @@ public enum EventType {
     USER_REGISTERED,
     USER_VERIFIED,
     PASSWORD_CHANGED,
-    USER_DELETED
+    USER_DELETED,
+    USER_STATUS_CHANGED,
+    USER_ROLE_CHANGED
 }
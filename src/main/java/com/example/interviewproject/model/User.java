@@ -1,6 +1,8 @@
 package com.example.interviewproject.model;
 
 
+import com.example.interviewproject.Utils.SearchText;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.*;
@@ -13,11 +15,18 @@ import java.util.List;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_status_deleted_at", columnList = "user_status, deleted_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -25,7 +34,7 @@ import java.time.LocalDateTime;
 @Builder
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @BlockAllocatedId("users")
     private Long id;
 
     @Column(nullable = false)
@@ -40,6 +49,7 @@ public class User implements UserDetails {
     @Column(unique = true, nullable = false)
     private String phone;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -62,6 +72,40 @@ public class User implements UserDetails {
 
     private int passwordChangeAttempts;
 
+    // Optimistic lock version, also the source of the user's ETag
+    @Version
+    private long version;
+
+    // Set when the user is deleted, the archival job moves users deleted longer than the grace period
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Lowercase copies maintained for indexed database-side search
+    @JsonIgnore
+    @Column(name = "username_normalized")
+    private String usernameNormalized;
+
+    @JsonIgnore
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
+    @JsonIgnore
+    @Column(name = "name_normalized")
+    private String nameNormalized;
+
+    @JsonIgnore
+    @Column(name = "surname_normalized")
+    private String surnameNormalized;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalizeSearchColumns() {
+        usernameNormalized = SearchText.normalize(username);
+        emailNormalized = SearchText.normalize(email);
+        nameNormalized = SearchText.normalize(name);
+        surnameNormalized = SearchText.normalize(surname);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // Return the role with ROLE_ prefix as Spring Security expects
@@ -2,12 +2,13 @@ package com.example.interviewproject.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -21,15 +22,18 @@ import java.time.LocalDateTime;
 public class UserEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockAllocatedId("user_events")
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnoreProperties({"password", "verificationCode", "verificationCodeExpiresAt", "authorities"})
     private User user;
+
+    // Plain varchar rather than a MySQL ENUM so new event types need no column change
     @Enumerated(EnumType.STRING)
-    @Column(name = "event_type", nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 32)
     private EventType eventType;
 
     @Column(name = "event_time", nullable = false)
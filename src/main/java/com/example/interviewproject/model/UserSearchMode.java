@@ -0,0 +1,9 @@
+package com.example.interviewproject.model;
+
+public enum UserSearchMode {
+    MEMORY,
+    DATABASE,
+    EXACT,
+    PREFIX,
+    FULL_TEXT
+}
@@ -0,0 +1,15 @@
+package com.example.interviewproject.repository;
+
+import com.example.interviewproject.model.ArchivedUserEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedUserEventRepository extends JpaRepository<ArchivedUserEvent, Long> {
+
+    Page<ArchivedUserEvent> findByUserId(Long userId, Pageable pageable);
+
+    long countByUserId(Long userId);
+}
@@ -0,0 +1,9 @@
+package com.example.interviewproject.repository;
+
+import com.example.interviewproject.model.ArchivedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedUserRepository extends JpaRepository<ArchivedUser, Long> {
+}
@@ -4,9 +4,11 @@ import com.example.interviewproject.model.UserEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 
+import com.example.interviewproject.dto.response.UserEventResponse;
 import com.example.interviewproject.model.EventType;
 import com.example.interviewproject.model.User;
 import com.example.interviewproject.model.UserEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -16,9 +18,57 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<UserEvent, Long> {
 
+    // Column projection for API listings, joins the user for its username instead of loading each User
+    String EVENT_RESPONSE = "SELECT new com.example.interviewproject.dto.response.UserEventResponse(" +
+            "e.id, e.eventType, e.eventTime, u.id, u.username) FROM UserEvent e JOIN e.user u";
+
+    @Query(value = EVENT_RESPONSE, countQuery = "SELECT COUNT(e) FROM UserEvent e")
+    Page<UserEventResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = EVENT_RESPONSE + " WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(e) FROM UserEvent e WHERE e.user.id = :userId")
+    Page<UserEventResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = EVENT_RESPONSE + " WHERE e.eventType = :eventType",
+            countQuery = "SELECT COUNT(e) FROM UserEvent e WHERE e.eventType = :eventType")
+    Page<UserEventResponse> findResponsesByEventType(@Param("eventType") EventType eventType, Pageable pageable);
+
+    @Query(value = EVENT_RESPONSE + " WHERE " +
+            "(:userId IS NULL OR u.id = :userId) AND " +
+            "(:eventType IS NULL OR e.eventType = :eventType) AND " +
+            "(:startDate IS NULL OR e.eventTime >= :startDate) AND " +
+            "(:endDate IS NULL OR e.eventTime <= :endDate)",
+            countQuery = "SELECT COUNT(e) FROM UserEvent e WHERE " +
+                    "(:userId IS NULL OR e.user.id = :userId) AND " +
+                    "(:eventType IS NULL OR e.eventType = :eventType) AND " +
+                    "(:startDate IS NULL OR e.eventTime >= :startDate) AND " +
+                    "(:endDate IS NULL OR e.eventTime <= :endDate)")
+    Page<UserEventResponse> findResponsesByFilters(
+            @Param("userId") Long userId,
+            @Param("eventType") EventType eventType,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    @Query(EVENT_RESPONSE + " WHERE u.id = :userId ORDER BY e.eventTime DESC")
+    List<UserEventResponse> findLatestResponsesByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(EVENT_RESPONSE + " WHERE e.id = :id")
+    Optional<UserEventResponse> findResponseById(@Param("id") Long id);
+
+    long countByUserId(Long userId);
+
+    // Changes whenever an event is added for the user, backs the ETag of the user's event lists
+    @Query("SELECT COUNT(e) AS total, COALESCE(MAX(e.id), 0) AS maxId FROM UserEvent e WHERE e.user.id = :userId")
+    EventHighWaterMark findHighWaterMarkByUserId(@Param("userId") Long userId);
+
+    long countByEventType(EventType eventType);
+
     // Pagination
     Page<UserEvent> findAll(Pageable pageable);
 
@@ -66,4 +116,9 @@ public interface EventRepository extends JpaRepository<UserEvent, Long> {
 
     // Get latest events for a user
     List<UserEvent> findTop10ByUserIdOrderByEventTimeDesc(Long userId);
-}
\ No newline at end of file
+
+    interface EventHighWaterMark {
+        Long getTotal();
+        Long getMaxId();
+    }
+}
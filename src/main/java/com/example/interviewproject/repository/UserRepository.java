@@ -1,23 +1,39 @@
 package com.example.interviewproject.repository;
 
+import com.example.interviewproject.dto.response.UserResponse;
 import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserRole;
 import com.example.interviewproject.model.UserStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserRepositoryCustom {
+
+    // Column projection for API listings, selects only what UserResponse exposes
+    String USER_RESPONSE = "SELECT new com.example.interviewproject.dto.response.UserResponse(" +
+            "u.id, u.name, u.surname, u.username, u.email, u.phone, u.enabled, " +
+            "u.userRole, u.userStatus, u.passwordChangeAttempts, u.deletedAt) FROM User u";
 
     // Existing methods
     Optional<User> findByEmail(String email);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String userName);
     Optional<User> findById(Long id);
     Optional<User> findByPhone(String phone);
@@ -26,8 +42,26 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     // Pagination
     Page<User> findAll(Pageable pageable);
 
+    @Query(value = USER_RESPONSE, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponse> findAllResponses(Pageable pageable);
+
+    // Id and version of the rows on a page, enough to fingerprint it for conditional GET
+    @Query(value = "SELECT u.id AS id, u.version AS version FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserVersion> findVersions(Pageable pageable);
+
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(USER_RESPONSE)
+    List<UserResponse> findAllResponses();
+
     // Filter by status
     Page<User> findByUserStatus(UserStatus status, Pageable pageable);
+
+    @Query(value = USER_RESPONSE + " WHERE u.userStatus = :status",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.userStatus = :status")
+    Page<UserResponse> findResponsesByUserStatus(@Param("status") UserStatus status, Pageable pageable);
     List<User> findByUserStatus(UserStatus status);
 
     // Filter by enabled/verified status
@@ -50,11 +84,133 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
             Pageable pageable
     );
 
+    // Database-side search over the normalized columns
+    @Query("SELECT u FROM User u WHERE " +
+            "u.usernameNormalized = :query OR u.emailNormalized = :query")
+    Page<User> searchExact(@Param("query") String query, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE " +
+            "u.usernameNormalized LIKE CONCAT(:prefix, '%') OR " +
+            "u.emailNormalized LIKE CONCAT(:prefix, '%') OR " +
+            "u.nameNormalized LIKE CONCAT(:prefix, '%') OR " +
+            "u.surnameNormalized LIKE CONCAT(:prefix, '%')")
+    Page<User> searchByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query(value = "SELECT * FROM users WHERE " +
+            "MATCH(username_normalized, email_normalized, name_normalized, surname_normalized) " +
+            "AGAINST (:query IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM users WHERE " +
+                    "MATCH(username_normalized, email_normalized, name_normalized, surname_normalized) " +
+                    "AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<User> searchFullText(@Param("query") String query, Pageable pageable);
+
+    // Batch fetch of search candidates resolved by the in-memory index
+    @Query("SELECT u FROM User u WHERE u.id IN :ids AND " +
+            "(:status IS NULL OR u.userStatus = :status)")
+    Page<User> findByIdInAndStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") UserStatus status,
+            Pageable pageable
+    );
+
+    // Key columns for building in-memory lookup structures, scanned in id ranges
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.phone AS phone FROM User u " +
+            "WHERE u.id > :fromId AND u.id <= :toId")
+    List<UserKeys> findKeysInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+
+    // Bulk operations: keyset pages of target ids, locked selection of rows to change, set-based updates
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND " +
+            "(:status IS NULL OR u.userStatus = :status) AND " +
+            "(:search IS NULL OR u.usernameNormalized LIKE CONCAT('%', :search, '%') OR " +
+            "u.emailNormalized LIKE CONCAT('%', :search, '%')) " +
+            "ORDER BY u.id")
+    List<Long> findIdsByFiltersAfter(
+            @Param("afterId") long afterId,
+            @Param("status") UserStatus status,
+            @Param("search") String search,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(u) FROM User u WHERE " +
+            "(:status IS NULL OR u.userStatus = :status) AND " +
+            "(:search IS NULL OR u.usernameNormalized LIKE CONCAT('%', :search, '%') OR " +
+            "u.emailNormalized LIKE CONCAT('%', :search, '%'))")
+    long countByFilters(@Param("status") UserStatus status, @Param("search") String search);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.id <> :excludedId AND u.userStatus <> :status")
+    List<Long> lockIdsWithOtherStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("excludedId") Long excludedId,
+            @Param("status") UserStatus status
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.id <> :excludedId AND u.userRole <> :role")
+    List<Long> lockIdsWithOtherRole(
+            @Param("ids") Collection<Long> ids,
+            @Param("excludedId") Long excludedId,
+            @Param("role") UserRole role
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.userStatus = :status")
+    List<Long> lockIdsWithStatus(@Param("ids") Collection<Long> ids, @Param("status") UserStatus status);
+
+    @Modifying
+    @Query("UPDATE User u SET u.userStatus = :status, u.deletedAt = :deletedAt, u.version = u.version + 1 " +
+            "WHERE u.id IN :ids")
+    int updateStatusByIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") UserStatus status,
+            @Param("deletedAt") LocalDateTime deletedAt
+    );
+
+    @Modifying
+    @Query("UPDATE User u SET u.userRole = :role, u.version = u.version + 1 WHERE u.id IN :ids")
+    int updateRoleByIds(@Param("ids") Collection<Long> ids, @Param("role") UserRole role);
+
+    // Deleted users past the archive grace period
+    @Query("SELECT u.id FROM User u WHERE u.userStatus = :status AND u.deletedAt < :cutoff ORDER BY u.id")
+    List<Long> findIdsDeletedBefore(
+            @Param("status") UserStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable
+    );
+
     // Count by status
     long countByUserStatus(UserStatus status);
 
+    // Single aggregate feeding the user statistics
+    @Query("SELECT u.userStatus AS userStatus, u.enabled AS enabled, u.userRole AS userRole, COUNT(u) AS total " +
+            "FROM User u GROUP BY u.userStatus, u.enabled, u.userRole")
+    List<UserCountBucket> countGroupedByStatusEnabledAndRole();
+
     // Check if email exists (for validation)
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByPhone(String phone);
+
+    interface UserKeys {
+        Long getId();
+        String getUsername();
+        String getEmail();
+        String getPhone();
+    }
+
+    interface UserVersion {
+        Long getId();
+        Long getVersion();
+    }
+
+    interface UserCountBucket {
+        UserStatus getUserStatus();
+        Boolean getEnabled();
+        UserRole getUserRole();
+        Long getTotal();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.interviewproject.repository;
+
+import com.example.interviewproject.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    // Natural-id lookup served from the second-level cache
+    Optional<User> findCachedByEmail(String email);
+}
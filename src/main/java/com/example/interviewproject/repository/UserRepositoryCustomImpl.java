@@ -0,0 +1,27 @@
+package com.example.interviewproject.repository;
+
+import com.example.interviewproject.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Resolves email through the natural-id cache and the user through the entity cache,
+     * only hitting the database on a miss
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findCachedByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
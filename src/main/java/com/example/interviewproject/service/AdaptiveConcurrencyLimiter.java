@@ -0,0 +1,187 @@
+package com.example.interviewproject.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient concurrency limit over all HTTP requests. The limit follows the ratio of the long-term
+ * average latency to the latency of the last window: while latency holds, the limit grows by about
+ * sqrt(limit) per window, and once requests start queueing (in Tomcat, the Hikari pool or MySQL)
+ * latency rises and the limit shrinks towards what the node actually sustains. Lower priorities are
+ * only admitted below a share of the limit, so they are shed first. Only USER requests are sampled:
+ * admin listings and exports take seconds by design and would read as queueing.
+ */
+@Service
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    public enum Priority {
+        /** Login, verification and the caller's own profile and events */
+        USER,
+        /** Admin listings, counts, search, import and export; signup, resend and availability checks */
+        ADMIN,
+        /** /api/v1/demo, API docs and anything unclassified */
+        LOW
+    }
+
+    @Value("${app.concurrency-limit.min-limit:8}")
+    private int minLimit;
+
+    @Value("${app.concurrency-limit.max-limit:400}")
+    private int maxLimit;
+
+    // Latency samples are aggregated per window before the limit moves
+    @Value("${app.concurrency-limit.window-ms:250}")
+    private long windowMs;
+
+    @Value("${app.concurrency-limit.min-window-samples:10}")
+    private int minWindowSamples;
+
+    // Latency may grow by this factor over the long-term average before the limit shrinks
+    @Value("${app.concurrency-limit.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    // Share of the limit up to which each lower priority is admitted
+    @Value("${app.concurrency-limit.admin-share:0.8}")
+    private double adminShare;
+
+    @Value("${app.concurrency-limit.low-share:0.5}")
+    private double lowShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Priority, Counter> accepted = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+    private volatile double limit;
+
+    // Guarded by lock
+    private double longRttNanos;
+    private long longRttSamples;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${app.concurrency-limit.initial-limit:50}") int initialLimit) {
+        this.limit = initialLimit;
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            accepted.put(priority, Counter.builder("concurrency.limit.requests")
+                    .description("Requests admitted or shed by the adaptive concurrency limit")
+                    .tag("priority", tag)
+                    .tag("outcome", "accepted")
+                    .register(meterRegistry));
+            shed.put(priority, Counter.builder("concurrency.limit.requests")
+                    .description("Requests admitted or shed by the adaptive concurrency limit")
+                    .tag("priority", tag)
+                    .tag("outcome", "shed")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("concurrency.limit", () -> limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit when in-flight requests are below this priority's share of the limit. Every
+     * successful call must be paired with release.
+     */
+    public boolean tryAcquire(Priority priority) {
+        double threshold = switch (priority) {
+            case USER -> limit;
+            case ADMIN -> limit * adminShare;
+            case LOW -> limit * lowShare;
+        };
+        int allowed = Math.max(1, (int) threshold);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                shed.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.get(priority).increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit taken for priority. With sample set, elapsedNanos of a USER request feeds the
+     * limit; failed requests are released without a sample since fast failures would read as spare
+     * capacity, and other priorities never sample.
+     */
+    public void release(Priority priority, long elapsedNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (!sample || priority != Priority.USER) {
+            return;
+        }
+        lock.lock();
+        try {
+            windowRttSum += elapsedNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            long now = System.nanoTime();
+            if (windowSamples >= minWindowSamples && now - windowStart >= windowMs * 1_000_000) {
+                update((double) windowRttSum / windowSamples);
+                windowStart = now;
+                windowRttSum = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double shortRtt) {
+        // Exponential average over roughly the last 600 windows, a plain mean while warming up
+        longRttSamples++;
+        double alpha = 1.0 / Math.min(longRttSamples, 600);
+        longRttNanos += (shortRtt - longRttNanos) * alpha;
+        if (longRttNanos / shortRtt > 2) {
+            // Latency dropped for good (cache warm, load gone), let the baseline follow quickly
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = Math.max(minLimit, Math.min(maxLimit, current * (1 - smoothing) + target * smoothing));
+        // Demand below half the limit says nothing about capacity, do not grow on it
+        if (next > current && windowMaxInFlight < current / 2) {
+            return;
+        }
+        limit = next;
+        if ((int) next < (int) current && gradient < 1.0) {
+            logger.debug("Concurrency limit {} -> {} (window latency {} ms, baseline {} ms)", (int) current,
+                    (int) next, Math.round(shortRtt / 1e6), Math.round(longRttNanos / 1e6));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.example.interviewproject.service;
 import com.example.interviewproject.dto.request.UserLoginRequest;
 import com.example.interviewproject.dto.request.UserRegisterRequest;
 import com.example.interviewproject.dto.request.VerifyUserRequest;
+import com.example.interviewproject.dto.response.UserResponse;
+import com.example.interviewproject.mapper.UserMapper;
 import com.example.interviewproject.model.*;
 import com.example.interviewproject.repository.EventRepository;
 import com.example.interviewproject.repository.UserRepository;
@@ -14,6 +16,8 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -28,8 +32,15 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
     private final EventRepository eventRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final UserStatsCache userStatsCache;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserMapper userMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public UserResponse signup(UserRegisterRequest input) {
+        userAvailabilityService.assertAvailable(input);
 
-    public User signup(UserRegisterRequest input) {
         User user = User.builder()
                 .name(input.getName())
                 .surname(input.getSurname())
@@ -46,6 +57,10 @@ public class AuthenticationService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        userSearchIndex.add(savedUser);
+        userStatsCache.userRegistered(savedUser);
+        userAvailabilityService.register(savedUser);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, savedUser.getId());
 
         sendVerificationEmail(savedUser);
         UserEvent event = UserEvent.builder()
@@ -55,11 +70,11 @@ public class AuthenticationService {
                 .build();
         UserEvent savedEvent = eventRepository.save(event);
 
-        return savedUser;
+        return userMapper.toResponse(savedUser);
     }
 
     public User authenticate(UserLoginRequest input) {
-        User user = userRepository.findByEmail(input.getEmail())
+        User user = userRepository.findCachedByEmail(input.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (!user.isEnabled()) {
@@ -80,9 +95,15 @@ public class AuthenticationService {
     }
 
     public void verifyUser(VerifyUserRequest input) {
-        Optional<User> optionalUser = userRepository.findByEmail(input.getEmail());
+        Optional<User> optionalUser = userRepository.findCachedByEmail(input.getEmail());
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
+            if (user.isEnabled()) {
+                throw new RuntimeException("Account is already verified");
+            }
+            if (user.getVerificationCode() == null || user.getVerificationCodeExpiresAt() == null) {
+                throw new RuntimeException("No verification code pending, request a new one");
+            }
             if (user.getVerificationCodeExpiresAt().isBefore(LocalDateTime.now())) {
                 throw new RuntimeException("Verification code has expired");
             }
@@ -91,6 +112,8 @@ public class AuthenticationService {
                 user.setVerificationCode(null);
                 user.setVerificationCodeExpiresAt(null);
                 userRepository.save(user);
+                userStatsCache.userVerified(user);
+                cacheInvalidationBus.publish(CacheInvalidationBus.USERS, user.getId());
                 UserEvent event = UserEvent.builder()
                         .eventTime(LocalDateTime.now())
                         .eventType(EventType.USER_VERIFIED)
@@ -109,7 +132,7 @@ public class AuthenticationService {
     }
 
     public void resendVerificationCode(String email) {
-        Optional<User> optionalUser = userRepository.findByEmail(email);
+        Optional<User> optionalUser = userRepository.findCachedByEmail(email);
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
             if (user.isEnabled()) {
@@ -119,29 +142,31 @@ public class AuthenticationService {
             user.setVerificationCodeExpiresAt(LocalDateTime.now().plusHours(1));
             sendVerificationEmail(user);
             userRepository.save(user);
+            cacheInvalidationBus.publish(CacheInvalidationBus.USERS, user.getId());
         } else {
             throw new RuntimeException("User not found");
         }
     }
 
+    // Sent once the transaction commits, so the SMTP round trip does not hold a pooled connection
     private void sendVerificationEmail(User user) {
-        String subject = "Account Verification";
-        String verificationCode = "VERIFICATION CODE " + user.getVerificationCode();
-        String htmlMessage = "<html>"
-                + "<body style=\"font-family: Arial, sans-serif;\">"
-                + "<div style=\"background-color: #f5f5f5; padding: 20px;\">"
-                + "<h2 style=\"color: #333;\">Welcome to our app!</h2>"
-                + "<p style=\"font-size: 16px;\">Please enter the verification code below to continue:</p>"
-                + "<div style=\"background-color: #fff; padding: 20px; border-radius: 5px; box-shadow: 0 0 10px rgba(0,0,0,0.1);\">"
-                + "<h3 style=\"color: #333;\">Verification Code:</h3>"
-                + "<p style=\"font-size: 18px; font-weight: bold; color: #007bff;\">" + verificationCode + "</p>"
-                + "</div>"
-                + "</div>"
-                + "</body>"
-                + "</html>";
+        String email = user.getEmail();
+        String code = user.getVerificationCode();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendVerificationEmail(email, code);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendVerificationEmail(email, code);
+            }
+        });
+    }
 
+    private void sendVerificationEmail(String email, String code) {
         try {
-            emailService.sendVerificationEmail(user.getEmail(), subject, htmlMessage);
+            emailService.sendVerificationCode(email, code);
         } catch (MessagingException e) {
             e.printStackTrace();
         }
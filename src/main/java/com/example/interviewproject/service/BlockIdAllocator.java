@@ -0,0 +1,215 @@
+package com.example.interviewproject.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out ids from blocks reserved in the id_blocks table (pooled-lo). Each instance reserves
+ * block-size ids per round trip on its own short transaction, so inserts never wait on a shared
+ * row and several instances get disjoint ranges without node ids. Ids stay below 2^53, which keeps
+ * them exact in JavaScript clients, unlike time-ordered 64-bit schemes.
+ * <p>
+ * Reservations use the small id-blocks pool (IdBlockConfiguration), never the application pool the
+ * inserting transactions hold connections from. The next block is reserved in the background once a
+ * block is down to prefetch-remaining ids, so inserts normally switch blocks without a round trip.
+ */
+@Component
+public class BlockIdAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(BlockIdAllocator.class);
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-z_]+");
+
+    // Hibernate instantiates id generators itself, they reach the allocator through this reference
+    private static volatile BlockIdAllocator instance;
+
+    private final DataSource dataSource;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    // Names whose id_blocks row is known to exist, the MAX(id) seed scan is skipped for them
+    private final Set<String> seeded = ConcurrentHashMap.newKeySet();
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean tableReady;
+
+    @Value("${app.ids.block-size:1000}")
+    private int blockSize;
+
+    // Remaining ids at which the next block is reserved in the background (0 disables prefetching)
+    @Value("${app.ids.prefetch-remaining:200}")
+    private int prefetchRemaining;
+
+    public BlockIdAllocator(@Qualifier("idBlockDataSource") DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void register() {
+        instance = this;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetcher.shutdown();
+    }
+
+    public static BlockIdAllocator current() {
+        BlockIdAllocator allocator = instance;
+        if (allocator == null) {
+            throw new IllegalStateException("BlockIdAllocator is not initialized");
+        }
+        return allocator;
+    }
+
+    /**
+     * Next id for the named table
+     */
+    public long next(String name) {
+        return blocks.computeIfAbsent(name, this::newBlock).next();
+    }
+
+    /**
+     * Reserve count consecutive ids for the named table in one round trip, returns the first.
+     * For bulk loaders that assign ids themselves; the range is never handed out by next().
+     */
+    public long reserveRange(String name, long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        checkName(name);
+        return reserve(name, count);
+    }
+
+    private Block newBlock(String name) {
+        checkName(name);
+        return new Block(name);
+    }
+
+    private void checkName(String name) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid id block name: " + name);
+        }
+    }
+
+    // Reserve [first, first + size) on a connection of its own, independent of the caller's transaction
+    private long reserve(String name, long size) {
+        try (Connection connection = dataSource.getConnection()) {
+            ensureTable(connection);
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // Seed from the table's current maximum the first time this instance uses a name
+                if (!seeded.contains(name)) {
+                    try (PreparedStatement seed = connection.prepareStatement(
+                            "INSERT IGNORE INTO id_blocks (name, next_id) " +
+                                    "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + name)) {
+                        seed.setString(1, name);
+                        seed.executeUpdate();
+                    }
+                }
+
+                long first;
+                try (PreparedStatement select = connection.prepareStatement(
+                        "SELECT next_id FROM id_blocks WHERE name = ? FOR UPDATE")) {
+                    select.setString(1, name);
+                    try (ResultSet rs = select.executeQuery()) {
+                        rs.next();
+                        first = rs.getLong(1);
+                    }
+                }
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE id_blocks SET next_id = ? WHERE name = ?")) {
+                    update.setLong(1, first + size);
+                    update.setString(2, name);
+                    update.executeUpdate();
+                }
+                connection.commit();
+                seeded.add(name);
+                logger.debug("Reserved ids {}..{} for {}", first, first + size - 1, name);
+                return first;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to reserve an id block for " + name, e);
+        }
+    }
+
+    private void ensureTable(Connection connection) throws SQLException {
+        if (tableReady) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS id_blocks (" +
+                    "name VARCHAR(64) NOT NULL PRIMARY KEY, next_id BIGINT NOT NULL)");
+        }
+        tableReady = true;
+    }
+
+    private final class Block {
+        private final String name;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+        private CompletableFuture<Long> prefetched;
+
+        private Block(String name) {
+            this.name = name;
+        }
+
+        private long next() {
+            lock.lock();
+            try {
+                if (next >= end) {
+                    next = nextBlockStart();
+                    end = next + blockSize;
+                }
+                if (prefetched == null && prefetchRemaining > 0 && end - next <= prefetchRemaining) {
+                    prefetched = CompletableFuture.supplyAsync(() -> reserve(name, blockSize), prefetcher);
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // The prefetched block when there is one, a failed prefetch is retried synchronously
+        private long nextBlockStart() {
+            CompletableFuture<Long> pending = prefetched;
+            prefetched = null;
+            if (pending != null) {
+                try {
+                    return pending.join();
+                } catch (CompletionException e) {
+                    logger.warn("Prefetching an id block for {} failed, reserving one now", name, e.getCause());
+                }
+            }
+            return reserve(name, blockSize);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.dto.request.BulkUserUpdateRequest;
+import com.example.interviewproject.dto.response.BulkOperationStatus;
+import com.example.interviewproject.model.EventType;
+import com.example.interviewproject.model.UserRole;
+import com.example.interviewproject.model.UserStatus;
+import com.example.interviewproject.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status and role changes over many users at once. Targets are walked in id order in chunks,
+ * each chunk is one transaction: lock the rows that actually change, apply one set-based UPDATE
+ * and write the audit events as a single JDBC batch. Jobs run in the background and report progress.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkUserOperationService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkUserOperationService.class);
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final UserStatsCache userStatsCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockIdAllocator blockIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bulk-user-operations");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Validate the request and queue it, returns the job status to poll
+     */
+    public BulkOperationStatus submit(BulkUserUpdateRequest request) {
+        if (request.getStatus() == null && request.getRole() == null) {
+            throw new IllegalArgumentException("status or role is required");
+        }
+        boolean hasIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        boolean hasFilter = request.getFilterStatus() != null
+                || (request.getFilterSearch() != null && !request.getFilterSearch().isBlank());
+        if (!hasIds && !hasFilter) {
+            throw new IllegalArgumentException("userIds or a filter is required");
+        }
+
+        // The acting admin never changes their own account through a bulk job
+        Long actorId = userService.getCurrentUser().getId();
+
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        trimFinishedJobs();
+
+        executor.submit(() -> run(job, request, actorId));
+        logger.info("Queued bulk user operation {} by user ID {}", job.id, actorId);
+        return job.toStatus();
+    }
+
+    public BulkOperationStatus getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Bulk operation not found with ID: " + jobId);
+        }
+        return job.toStatus();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, BulkUserUpdateRequest request, Long actorId) {
+        job.state = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        try {
+            if (request.getUserIds() != null && !request.getUserIds().isEmpty()) {
+                List<Long> ids = request.getUserIds().stream().distinct().sorted().toList();
+                job.total.set(ids.size());
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    applyChunk(job, ids.subList(from, Math.min(from + chunkSize, ids.size())), request, actorId);
+                }
+            } else {
+                String search = request.getFilterSearch() == null || request.getFilterSearch().isBlank()
+                        ? null : SearchText.escapeLike(SearchText.normalize(request.getFilterSearch()));
+                job.total.set(userRepository.countByFilters(request.getFilterStatus(), search));
+
+                // Keyset pagination by id: rows updated by earlier chunks cannot shift later pages
+                long afterId = 0;
+                List<Long> ids;
+                do {
+                    ids = userRepository.findIdsByFiltersAfter(afterId, request.getFilterStatus(), search,
+                            PageRequest.of(0, chunkSize));
+                    if (!ids.isEmpty()) {
+                        applyChunk(job, ids, request, actorId);
+                        afterId = ids.get(ids.size() - 1);
+                    }
+                } while (ids.size() == chunkSize);
+            }
+            job.state = "COMPLETED";
+            logger.info("Bulk user operation {} completed: {} processed, {} updated",
+                    job.id, job.processed.get(), job.updated.get());
+        } catch (Exception e) {
+            job.state = "FAILED";
+            job.error = e.getMessage();
+            logger.error("Bulk user operation {} failed after {} users", job.id, job.processed.get(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            // Counts moved in bulk, let the next stats request reload them
+            userStatsCache.invalidate();
+        }
+    }
+
+    private void applyChunk(Job job, List<Long> ids, BulkUserUpdateRequest request, Long actorId) {
+        Integer updated = transactionTemplate.execute(tx -> {
+            Set<Long> changed = new HashSet<>();
+            UserStatus status = request.getStatus();
+            if (status != null) {
+                List<Long> targets = userRepository.lockIdsWithOtherStatus(ids, actorId, status);
+                if (!targets.isEmpty()) {
+                    userRepository.updateStatusByIds(targets, status,
+                            status == UserStatus.DELETED ? LocalDateTime.now() : null);
+                    insertEvents(targets, status == UserStatus.DELETED
+                            ? EventType.USER_DELETED : EventType.USER_STATUS_CHANGED);
+                    changed.addAll(targets);
+                }
+            }
+            UserRole role = request.getRole();
+            if (role != null) {
+                List<Long> targets = userRepository.lockIdsWithOtherRole(ids, actorId, role);
+                if (!targets.isEmpty()) {
+                    userRepository.updateRoleByIds(targets, role);
+                    insertEvents(targets, EventType.USER_ROLE_CHANGED);
+                    changed.addAll(targets);
+                }
+            }
+            cacheInvalidationBus.publish(CacheInvalidationBus.USERS, changed);
+            return changed.size();
+        });
+        job.processed.addAndGet(ids.size());
+        job.updated.addAndGet(updated == null ? 0 : updated);
+    }
+
+    // One multi-row batch per chunk; rewriteBatchedStatements on the JDBC URL turns it into a single INSERT
+    private void insertEvents(List<Long> userIds, EventType eventType) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[]{blockIdAllocator.next("user_events"), userId, eventType.name(), now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_events (id, user_id, event_type, event_time) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private void trimFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        List<Job> finished = new ArrayList<>();
+        jobs.values().forEach(j -> {
+            if (j.finishedAt != null) {
+                finished.add(j);
+            }
+        });
+        finished.sort((a, b) -> a.finishedAt.compareTo(b.finishedAt));
+        for (int i = 0; i < finished.size() && jobs.size() > MAX_RETAINED_JOBS; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private volatile String state = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        private BulkOperationStatus toStatus() {
+            return new BulkOperationStatus(id, state, total.get(), processed.get(), updated.get(),
+                    startedAt, finishedAt, error);
+        }
+    }
+}
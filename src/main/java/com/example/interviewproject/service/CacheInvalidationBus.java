@@ -0,0 +1,332 @@
+package com.example.interviewproject.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Cross-node invalidation of in-process caches through a change log table, cache_invalidations.
+ * Entries are written in the transaction making the change, just before it commits, and every
+ * node tails the table by its AUTO_INCREMENT sequence, handing entries of other nodes to the
+ * handler registered for the cache. A sequence value can become visible after a higher one; a
+ * skipped value is re-checked until gap-timeout-ms before it is taken as rolled back. Delay is
+ * bounded by poll-interval-ms; a node that could not read the log for longer than the retention
+ * drops its caches entirely.
+ */
+@Service
+public class CacheInvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String USERS = "users";
+
+    /**
+     * Invalidates one in-process cache, called on the poller thread
+     */
+    public interface Handler {
+        void invalidate(Set<String> keys);
+
+        void invalidateAll();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter fullFlushes;
+    private final Timer propagation;
+    private final AtomicInteger openGaps = new AtomicInteger();
+
+    // Poller thread only: skipped sequence values -> time to give up on them
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long lastSeq = -1;
+    private long lastPollOk;
+    private long lastPurge;
+    private boolean failing;
+
+    private ScheduledExecutorService poller;
+    private volatile boolean tableReady;
+
+    @Value("${app.cache-bus.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache-bus.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.cache-bus.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.cache-bus.gap-timeout-ms:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${app.cache-bus.max-gaps:1000}")
+    private int maxGaps;
+
+    @Value("${app.cache-bus.retention-minutes:60}")
+    private long retentionMinutes;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.published = Counter.builder("cache.invalidations.published")
+                .description("Cache invalidations written to the change log").register(meterRegistry);
+        this.fullFlushes = Counter.builder("cache.invalidations.full.flushes")
+                .description("Times this node dropped all caches after losing track of the change log").register(meterRegistry);
+        this.propagation = Timer.builder("cache.invalidations.propagation")
+                .description("Time from writing an invalidation to applying it on another node").register(meterRegistry);
+        meterRegistry.gauge("cache.invalidations.open.gaps", openGaps);
+    }
+
+    public void register(String cache, Handler handler) {
+        handlers.put(cache, handler);
+    }
+
+    public void publish(String cache, Object key) {
+        publish(cache, List.of(key));
+    }
+
+    /**
+     * Invalidate keys of a cache on the other nodes once the current transaction commits. Without a
+     * transaction the entries are written immediately.
+     */
+    public void publish(String cache, Collection<?> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+        Set<String> stringKeys = keys.stream().map(String::valueOf).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(cache, stringKeys));
+            return;
+        }
+        pending().entries.computeIfAbsent(cache, c -> new LinkedHashSet<>()).addAll(stringKeys);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Cache invalidation bus disabled, in-process caches are not synchronized across nodes");
+            return;
+        }
+        try {
+            ensureTable();
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the cache invalidation change log yet: {}", e.getMessage());
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    // One pending batch per transaction, found through its synchronization so REQUIRES_NEW gets its own
+    private PendingInvalidations pending() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending) {
+                return pending;
+            }
+        }
+        PendingInvalidations pending = new PendingInvalidations();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void write(Map<String, Set<String>> entries) {
+        List<Object[]> rows = new ArrayList<>();
+        entries.forEach((cache, keys) -> keys.forEach(key -> rows.add(new Object[]{cache, key, nodeId})));
+        jdbcTemplate.batchUpdate("INSERT INTO cache_invalidations (cache_name, entity_key, origin) VALUES (?, ?, ?)", rows);
+        published.increment(rows.size());
+    }
+
+    void poll() {
+        try {
+            ensureTable();
+            long now = System.currentTimeMillis();
+            if (lastSeq < 0 || now - lastPollOk > TimeUnit.MINUTES.toMillis(retentionMinutes)) {
+                if (lastSeq >= 0) {
+                    logger.warn("Change log unreadable for longer than its retention, dropping all caches");
+                    flushAll();
+                }
+                gaps.clear();
+                lastSeq = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM cache_invalidations", Long.class);
+            } else {
+                Map<String, Set<String>> received = new HashMap<>();
+                Set<String> flushed = new HashSet<>();
+                recheckGaps(now, received, flushed);
+                readNew(now, received, flushed);
+                deliver(received, flushed);
+            }
+            openGaps.set(gaps.size());
+            purge(now);
+            lastPollOk = now;
+            if (failing) {
+                failing = false;
+                logger.info("Cache invalidation change log readable again");
+            }
+        } catch (DataAccessException e) {
+            if (!failing) {
+                failing = true;
+                logger.warn("Failed to read the cache invalidation change log: {}", e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Cache invalidation poll failed", e);
+        }
+    }
+
+    private void readNew(long now, Map<String, Set<String>> received, Set<String> flushed) {
+        List<Entry> entries = jdbcTemplate.query(
+                "SELECT seq, cache_name, entity_key, origin, created_at FROM cache_invalidations " +
+                        "WHERE seq > ? ORDER BY seq LIMIT ?",
+                (rs, i) -> new Entry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getTimestamp(5)),
+                lastSeq, batchSize);
+        for (Entry entry : entries) {
+            for (long missing = lastSeq + 1; missing < entry.seq() && gaps.size() <= maxGaps; missing++) {
+                gaps.put(missing, now + gapTimeoutMs);
+            }
+            lastSeq = entry.seq();
+            collect(entry, now, received);
+        }
+        if (gaps.size() > maxGaps) {
+            logger.warn("More than {} unresolved change log gaps, dropping all caches", maxGaps);
+            gaps.clear();
+            flushed.addAll(handlers.keySet());
+            fullFlushes.increment();
+        }
+    }
+
+    private void recheckGaps(long now, Map<String, Set<String>> received, Set<String> flushed) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        String in = gaps.keySet().stream().map(String::valueOf).collect(Collectors.joining(","));
+        jdbcTemplate.query("SELECT seq, cache_name, entity_key, origin, created_at FROM cache_invalidations " +
+                        "WHERE seq IN (" + in + ")",
+                (rs, i) -> new Entry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getTimestamp(5)))
+                .forEach(entry -> {
+                    gaps.remove(entry.seq());
+                    collect(entry, now, received);
+                });
+        gaps.values().removeIf(giveUpAt -> giveUpAt < now);
+    }
+
+    private void collect(Entry entry, long now, Map<String, Set<String>> received) {
+        if (nodeId.equals(entry.origin())) {
+            return;
+        }
+        received.computeIfAbsent(entry.cache(), c -> new HashSet<>()).add(entry.key());
+        propagation.record(Math.max(0, now - entry.createdAt().getTime()), TimeUnit.MILLISECONDS);
+    }
+
+    private void deliver(Map<String, Set<String>> received, Set<String> flushed) {
+        for (String cache : flushed) {
+            received.remove(cache);
+            Handler handler = handlers.get(cache);
+            if (handler != null) {
+                invoke(cache, handler, null);
+            }
+        }
+        received.forEach((cache, keys) -> {
+            Handler handler = handlers.get(cache);
+            if (handler == null) {
+                return;
+            }
+            meterRegistry.counter("cache.invalidations.received", "cache", cache).increment(keys.size());
+            invoke(cache, handler, keys);
+        });
+    }
+
+    private void flushAll() {
+        handlers.forEach((cache, handler) -> invoke(cache, handler, null));
+        fullFlushes.increment();
+    }
+
+    private void invoke(String cache, Handler handler, Set<String> keys) {
+        try {
+            if (keys == null) {
+                handler.invalidateAll();
+            } else {
+                handler.invalidate(keys);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to invalidate cache {}", cache, e);
+        }
+    }
+
+    private void purge(long now) {
+        if (now - lastPurge < TimeUnit.MINUTES.toMillis(1)) {
+            return;
+        }
+        lastPurge = now;
+        int purged = jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+                new Timestamp(now - TimeUnit.MINUTES.toMillis(retentionMinutes)));
+        if (purged > 0) {
+            logger.debug("Purged {} expired cache invalidations", purged);
+        }
+    }
+
+    // DDL commits implicitly on MySQL, so this only runs outside transactions: at startup and on the poller
+    private void ensureTable() {
+        if (tableReady) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS cache_invalidations (" +
+                "seq BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "cache_name VARCHAR(64) NOT NULL, " +
+                "entity_key VARCHAR(191) NOT NULL, " +
+                "origin VARCHAR(64) NOT NULL, " +
+                "created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))");
+        tableReady = true;
+    }
+
+    private final class PendingInvalidations implements TransactionSynchronization {
+        private final Map<String, Set<String>> entries = new LinkedHashMap<>();
+
+        // In the committing transaction: the entries become visible together with the change
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!entries.isEmpty()) {
+                write(entries);
+            }
+        }
+    }
+
+    private record Entry(long seq, String cache, String key, String origin, Timestamp createdAt) {
+    }
+}
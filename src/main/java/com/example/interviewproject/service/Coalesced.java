@@ -0,0 +1,18 @@
+package com.example.interviewproject.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls with equal arguments share one execution and its result (see
+ * SingleFlightConfiguration). Only for reads whose result depends on the arguments alone, not on
+ * the current user, and whose callers do not modify the returned value.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Coalesced {
+}
@@ -1,23 +1,106 @@
 package com.example.interviewproject.service;
 
+import com.example.interviewproject.configuration.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class EmailService {
     @Autowired
     private JavaMailSender emailSender;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /*
+     * JavaMail's SMTPTransport holds monitors (synchronized) across its socket I/O. On Java 21-23 a
+     * virtual thread blocked there pins its carrier, so the virtual-threads profile caps concurrent
+     * sends below the carrier count. 0 (the default) leaves sends uncapped on platform threads.
+     */
+    @Value("${app.mail.max-concurrent-sends:0}")
+    private int maxConcurrentSends;
+
+    // Longest wait for a send permit before the send fails instead of queueing
+    @Value("${app.mail.permit-timeout-ms:5000}")
+    private long permitTimeoutMs;
+
+    private Semaphore sendPermits;
+
+    @PostConstruct
+    void initSendPermits() {
+        if (maxConcurrentSends > 0) {
+            sendPermits = new Semaphore(maxConcurrentSends);
+        }
+    }
+
     public void sendVerificationEmail(String to, String subject, String text) throws MessagingException {
         MimeMessage message = emailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true);
         helper.setTo(to);
         helper.setSubject(subject);
         helper.setText(text, true);
-        emailSender.send(message);
+
+        acquireSendPermit();
+        // Timed after the permit is granted: SMTP latency, queueing for a permit is not included
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            emailSender.send(message);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            meterRegistry.counter("mail.send.failures", "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            RequestTimings.add("smtp", sample.stop(Timer.builder("mail.send").tag("outcome", outcome)
+                    .description("SMTP send latency").register(meterRegistry)));
+            if (sendPermits != null) {
+                sendPermits.release();
+            }
+        }
+    }
+
+    private void acquireSendPermit() throws MessagingException {
+        if (sendPermits == null) {
+            return;
+        }
+        try {
+            if (!sendPermits.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("mail.send.failures", "exception", "PermitTimeout").increment();
+                throw new MessagingException("Timed out waiting to send email, " + maxConcurrentSends
+                        + " sends already in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting to send email", e);
+        }
+    }
+
+    public void sendVerificationCode(String to, String code) throws MessagingException {
+        String subject = "Account Verification";
+        String verificationCode = "VERIFICATION CODE " + code;
+        String htmlMessage = "<html>"
+                + "<body style=\"font-family: Arial, sans-serif;\">"
+                + "<div style=\"background-color: #f5f5f5; padding: 20px;\">"
+                + "<h2 style=\"color: #333;\">Welcome to our app!</h2>"
+                + "<p style=\"font-size: 16px;\">Please enter the verification code below to continue:</p>"
+                + "<div style=\"background-color: #fff; padding: 20px; border-radius: 5px; box-shadow: 0 0 10px rgba(0,0,0,0.1);\">"
+                + "<h3 style=\"color: #333;\">Verification Code:</h3>"
+                + "<p style=\"font-size: 18px; font-weight: bold; color: #007bff;\">" + verificationCode + "</p>"
+                + "</div>"
+                + "</div>"
+                + "</body>"
+                + "</html>";
+        sendVerificationEmail(to, subject, htmlMessage);
     }
 }
\ No newline at end of file
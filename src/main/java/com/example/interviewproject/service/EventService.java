@@ -1,12 +1,18 @@
 package com.example.interviewproject.service;
 
+import com.example.interviewproject.Utils.ConditionalGet;
+import com.example.interviewproject.dto.response.UserEventResponse;
+import com.example.interviewproject.mapper.UserMapper;
 import com.example.interviewproject.model.EventType;
 import com.example.interviewproject.model.User;
 import com.example.interviewproject.model.UserEvent;
+import com.example.interviewproject.repository.ArchivedUserEventRepository;
+import com.example.interviewproject.repository.ArchivedUserRepository;
 import com.example.interviewproject.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -24,47 +30,67 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final UserService userService;
+    private final ArchivedUserRepository archivedUserRepository;
+    private final ArchivedUserEventRepository archivedUserEventRepository;
+    private final UserMapper userMapper;
 
     /**
      * Get all events with pagination
      */
     @Transactional(readOnly = true)
-    public Page<UserEvent> getAllEvents(Pageable pageable) {
+    public Page<UserEventResponse> getAllEvents(Pageable pageable) {
         logger.debug("Fetching all events with pagination: {}", pageable);
-        return eventRepository.findAll(pageable);
+        return eventRepository.findAllResponses(pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<UserEvent> getCurrentUserEvents(Pageable pageable) {
+    public Page<UserEventResponse> getCurrentUserEvents(Pageable pageable) {
         User currentUser = userService.getCurrentUser();
         logger.debug("Fetching events for user: {}", currentUser.getUsername());
-        return eventRepository.findByUserId(currentUser.getId(), pageable);
+        return eventRepository.findResponsesByUserId(currentUser.getId(), pageable);
     }
 
 
     @Transactional(readOnly = true)
-    public Page<UserEvent> getEventsByUserId(Long userId, Pageable pageable) {
+    public Page<UserEventResponse> getEventsByUserId(Long userId, Pageable pageable) {
         logger.debug("Fetching events for user ID: {}", userId);
-        return eventRepository.findByUserId(userId, pageable);
+        return eventRepository.findResponsesByUserId(userId, pageable);
+    }
+
+    /**
+     * Events of a live user, or of an archived one when includeArchived is set
+     */
+    @Transactional(readOnly = true)
+    public Page<UserEventResponse> getEventsByUserId(Long userId, boolean includeArchived, Pageable pageable) {
+        Page<UserEventResponse> events = getEventsByUserId(userId, pageable);
+        if (!includeArchived || events.getTotalElements() > 0) {
+            return events;
+        }
+        // Archival moves a user and all of its events together, so only an archived user has archived events
+        return archivedUserRepository.findById(userId)
+                .map(user -> archivedUserEventRepository.findByUserId(userId, pageable)
+                        .map(event -> userMapper.toResponse(event, user.getUsername())))
+                .orElse(events);
     }
 
     /**
      * Get events by event type
      */
     @Transactional(readOnly = true)
-    public Page<UserEvent> getEventsByType(EventType eventType, Pageable pageable) {
+    public Page<UserEventResponse> getEventsByType(EventType eventType, Pageable pageable) {
         logger.debug("Fetching events by type: {}", eventType);
-        return eventRepository.findByEventType(eventType, pageable);
+        return eventRepository.findResponsesByEventType(eventType, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<UserEvent> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+    public Page<UserEventResponse> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
         logger.debug("Fetching events between {} and {}", startDate, endDate);
-        return eventRepository.findByEventTimeBetween(startDate, endDate, pageable);
+        return eventRepository.findResponsesByFilters(null, null, startDate, endDate, pageable);
     }
 
+    @Coalesced
     @Transactional(readOnly = true)
-    public Page<UserEvent> getEventsByFilters(
+    public Page<UserEventResponse> getEventsByFilters(
             Long userId,
             EventType eventType,
             LocalDateTime startDate,
@@ -74,14 +100,24 @@ public class EventService {
         logger.debug("Fetching events with filters - userId: {}, eventType: {}, startDate: {}, endDate: {}", 
                      userId, eventType, startDate, endDate);
         
-        return eventRepository.findByFilters(userId, eventType, startDate, endDate, pageable);
+        return eventRepository.findResponsesByFilters(userId, eventType, startDate, endDate, pageable);
+    }
+
+    /**
+     * ETag of the current user's event lists from the event high-water mark (count and highest id)
+     */
+    @Transactional(readOnly = true)
+    public String getCurrentUserEventsEtag() {
+        User currentUser = userService.getCurrentUser();
+        EventRepository.EventHighWaterMark mark = eventRepository.findHighWaterMarkByUserId(currentUser.getId());
+        return ConditionalGet.etag("e", currentUser.getId(), mark.getTotal(), mark.getMaxId());
     }
 
     @Transactional(readOnly = true)
-    public List<UserEvent> getLatestEventsForCurrentUser() {
+    public List<UserEventResponse> getLatestEventsForCurrentUser() {
         User currentUser = userService.getCurrentUser();
         logger.debug("Fetching latest events for user: {}", currentUser.getUsername());
-        return eventRepository.findTop10ByUserIdOrderByEventTimeDesc(currentUser.getId());
+        return eventRepository.findLatestResponsesByUserId(currentUser.getId(), Limit.of(10));
     }
 
 
@@ -105,18 +141,19 @@ public class EventService {
 
 
     @Transactional(readOnly = true)
-    public UserEvent getEventById(Long eventId) {
-        return eventRepository.findById(eventId)
+    public UserEventResponse getEventById(Long eventId) {
+        return eventRepository.findResponseById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found with id: " + eventId));
     }
 
     @Transactional(readOnly = true)
     public long countEventsByUserId(Long userId) {
-        return eventRepository.findByUserId(userId, Pageable.unpaged()).getTotalElements();
+        return eventRepository.countByUserId(userId);
     }
 
+    @Coalesced
     @Transactional(readOnly = true)
     public long countEventsByType(EventType eventType) {
-        return eventRepository.findByEventType(eventType, Pageable.unpaged()).getTotalElements();
+        return eventRepository.countByEventType(eventType);
     }
 }
\ No newline at end of file
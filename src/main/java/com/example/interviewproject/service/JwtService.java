@@ -6,6 +6,9 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import com.example.interviewproject.configuration.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.security.Key;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +27,16 @@ public class JwtService {
     @Value("${security.jwt.expiration-time}")
     private long jwtExpiration;
 
+    private final Timer signTimer;
+    private final Timer parseTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.signTimer = Timer.builder("jwt.operations").tag("operation", "sign")
+                .description("JWT signing").register(meterRegistry);
+        this.parseTimer = Timer.builder("jwt.operations").tag("operation", "parse")
+                .description("JWT signature verification and claims parsing").register(meterRegistry);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -69,14 +82,14 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
-        return Jwts
+        return signTimer.record(() -> RequestTimings.time("jwt", () -> Jwts
                 .builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .compact()));
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
@@ -93,12 +106,12 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
+        return parseTimer.record(() -> RequestTimings.time("jwt", () -> Jwts
                 .parserBuilder()
                 .setSigningKey(getSignInKey())
                 .build()
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody()));
     }
 
     private Key getSignInKey() {
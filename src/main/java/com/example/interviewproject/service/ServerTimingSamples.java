@@ -0,0 +1,68 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.dto.response.ServerTimingSample;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size ring buffer of sampled Server-Timing breakdowns, the oldest overwritten first
+ */
+@Service
+public class ServerTimingSamples {
+
+    @Value("${app.server-timing.sample-rate:0.01}")
+    private double sampleRate;
+
+    // Slow requests are always kept, they are the ones worth looking at
+    @Value("${app.server-timing.always-sample-above-ms:1000}")
+    private double alwaysSampleAboveMs;
+
+    private final ServerTimingSample[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long written;
+
+    public ServerTimingSamples(@Value("${app.server-timing.buffer-size:500}") int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("app.server-timing.buffer-size must be positive");
+        }
+        this.buffer = new ServerTimingSample[bufferSize];
+    }
+
+    public boolean shouldSample(double totalMs) {
+        return totalMs >= alwaysSampleAboveMs || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void record(ServerTimingSample sample) {
+        lock.lock();
+        try {
+            buffer[(int) (written++ % buffer.length)] = sample;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Up to limit samples, newest first, optionally only those at least minTotalMs long
+     */
+    public List<ServerTimingSample> latest(int limit, double minTotalMs) {
+        List<ServerTimingSample> result = new ArrayList<>(Math.min(limit, buffer.length));
+        lock.lock();
+        try {
+            long available = Math.min(written, buffer.length);
+            for (long i = 1; i <= available && result.size() < limit; i++) {
+                ServerTimingSample sample = buffer[(int) ((written - i) % buffer.length)];
+                if (sample.totalMs() >= minTotalMs) {
+                    result.add(sample);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.model.ArchivedUser;
+import com.example.interviewproject.model.ArchivedUserEvent;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserEvent;
+import com.example.interviewproject.model.UserStatus;
+import com.example.interviewproject.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves users deleted longer than the grace period, with their events, into archived_users and
+ * archived_user_events so the live tables only hold accounts that can still sign in.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserArchivalService {
+    private static final Logger logger = LoggerFactory.getLogger(UserArchivalService.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final UserSearchIndex userSearchIndex;
+    private final UserStatsCache userStatsCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.grace-days:30}")
+    private long graceDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archiveDeletedUsers();
+        }
+    }
+
+    /**
+     * Archive every user deleted before the grace period, one transaction per batch
+     */
+    public long archiveDeletedUsers() {
+        if (!running.tryLock()) {
+            logger.info("User archival already running, skipping");
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(graceDays);
+            long archived = 0;
+            List<Long> ids;
+            do {
+                ids = userRepository.findIdsDeletedBefore(UserStatus.DELETED, cutoff, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    List<Long> batch = ids;
+                    List<Long> moved = transactionTemplate.execute(tx -> moveToArchive(batch));
+                    moved.forEach(userSearchIndex::remove);
+                    archived += moved.size();
+                }
+            } while (ids.size() == batchSize);
+
+            if (archived > 0) {
+                userStatsCache.invalidate();
+                logger.info("Archived {} users deleted before {}", archived, cutoff);
+            }
+            return archived;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private List<Long> moveToArchive(List<Long> candidates) {
+        // Lock the rows first so a user restored meanwhile keeps its events
+        List<Long> ids = userRepository.lockIdsWithStatus(candidates, UserStatus.DELETED);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        execute("INSERT INTO archived_users (id, name, surname, username, phone, email, password, enabled, " +
+                        "user_role, user_status, password_change_attempts, deleted_at, archived_at) " +
+                        "SELECT id, name, surname, username, phone, email, password, enabled, " +
+                        "user_role, user_status, password_change_attempts, deleted_at, :now " +
+                        "FROM users WHERE id IN (:ids)",
+                ids, now, ArchivedUser.class);
+        execute("INSERT INTO archived_user_events (id, user_id, event_type, event_time) " +
+                        "SELECT id, user_id, event_type, event_time FROM user_events WHERE user_id IN (:ids)",
+                ids, null, ArchivedUserEvent.class);
+        execute("DELETE FROM user_events WHERE user_id IN (:ids)", ids, null, UserEvent.class);
+        execute("DELETE FROM users WHERE id IN (:ids)", ids, null, User.class);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, ids);
+        return ids;
+    }
+
+    // Declaring the touched entity keeps Hibernate from evicting every second-level cache region on native DML
+    private void execute(String sql, List<Long> ids, LocalDateTime now, Class<?> touched) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(touched)
+                .setParameter("ids", ids);
+        if (now != null) {
+            query.setParameter("now", now);
+        }
+        query.executeUpdate();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.Utils.BloomFilter;
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.dto.request.UserRegisterRequest;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * Availability checks for the unique user columns. Bloom filters answer "definitely free"
+ * from memory, the database is only consulted when a filter reports a probable hit.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserAvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private final UserRepository userRepository;
+    private final UserKeyScanner userKeyScanner;
+
+    private volatile BloomFilter emails;
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter phones;
+    private volatile boolean ready;
+
+    @Value("${app.availability.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${app.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * Rebuild the filters from a parallel scan of the users table. Checks go to the
+     * database until the scan completes, signups during the scan land in the new filters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        long start = System.currentTimeMillis();
+        long capacity = Math.max(expectedInsertions, userRepository.findMaxId() * 2);
+        emails = new BloomFilter(capacity, falsePositiveRate);
+        usernames = new BloomFilter(capacity, falsePositiveRate);
+        phones = new BloomFilter(capacity, falsePositiveRate);
+
+        try {
+            userKeyScanner.scan(k -> put(k.getEmail(), k.getUsername(), k.getPhone()));
+            ready = true;
+            logger.info("Availability filters built for capacity {} in {} ms",
+                    capacity, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Availability filter build interrupted", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to build availability filters", e.getCause());
+        }
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable(emails, email, userRepository::existsByEmail);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable(usernames, username, userRepository::existsByUsername);
+    }
+
+    public boolean isPhoneAvailable(String phone) {
+        return isAvailable(phones, phone, userRepository::existsByPhone);
+    }
+
+    /**
+     * Availability of each provided value, keyed by field name
+     */
+    public Map<String, Boolean> checkAvailability(String email, String username, String phone) {
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        if (email != null) {
+            availability.put("email", isEmailAvailable(email));
+        }
+        if (username != null) {
+            availability.put("username", isUsernameAvailable(username));
+        }
+        if (phone != null) {
+            availability.put("phone", isPhoneAvailable(phone));
+        }
+        return availability;
+    }
+
+    /**
+     * Reject a registration whose email, username or phone is already taken,
+     * before any password hashing happens
+     */
+    public void assertAvailable(UserRegisterRequest input) {
+        if (isPresent(input.getEmail()) && !isEmailAvailable(input.getEmail())) {
+            throw new RuntimeException("Email is already registered");
+        }
+        if (isPresent(input.getUserName()) && !isUsernameAvailable(input.getUserName())) {
+            throw new RuntimeException("Username is already taken");
+        }
+        if (isPresent(input.getPhone()) && !isPhoneAvailable(input.getPhone())) {
+            throw new RuntimeException("Phone is already registered");
+        }
+    }
+
+    public void register(User user) {
+        put(user.getEmail(), user.getUsername(), user.getPhone());
+    }
+
+    private void put(String email, String username, String phone) {
+        put(emails, email);
+        put(usernames, username);
+        put(phones, phone);
+    }
+
+    // Filters are created on the ready event, requests served before that only go to the database
+    private static void put(BloomFilter filter, String value) {
+        if (filter != null && value != null) {
+            filter.put(SearchText.normalize(value));
+        }
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private boolean isAvailable(BloomFilter filter, String value, Predicate<String> exists) {
+        if (!isPresent(value)) {
+            return false;
+        }
+        if (ready && !filter.mightContain(SearchText.normalize(value))) {
+            return true;
+        }
+        return !exists.test(value);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies user changes made on other nodes to this node's in-process state: the second-level
+ * cache entries and cached email lookups, the search index, the availability filters and the
+ * user statistics
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationHandler implements CacheInvalidationBus.Handler {
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheInvalidationHandler.class);
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserStatsCache userStatsCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void register() {
+        cacheInvalidationBus.register(CacheInvalidationBus.USERS, this);
+    }
+
+    @Override
+    public void invalidate(Set<String> keys) {
+        List<Long> ids = keys.stream().map(Long::valueOf).toList();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        ids.forEach(id -> cache.evictEntityData(User.class, id));
+        // Cached lookups by email may point at a changed user or miss a new one
+        cache.evictDefaultQueryRegion();
+
+        // Reloaded in a read-write transaction so it reads the primary, a lagging replica would re-cache old state
+        Map<Long, User> users = transactionTemplate.execute(tx -> userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity())));
+        for (Long id : ids) {
+            userSearchIndex.remove(id);
+            User user = users.get(id);
+            if (user != null) {
+                userSearchIndex.add(user);
+                userAvailabilityService.register(user);
+            }
+        }
+        if (users.size() < ids.size()) {
+            // Archived users are gone from the table, their natural id mappings with them
+            cache.evictNaturalIdData(User.class);
+        }
+        userStatsCache.invalidate();
+        logger.debug("Applied {} user invalidations from other nodes", ids.size());
+    }
+
+    @Override
+    public void invalidateAll() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(User.class);
+        cache.evictNaturalIdData(User.class);
+        cache.evictDefaultQueryRegion();
+        userStatsCache.invalidate();
+        userAvailabilityService.rebuild();
+        userSearchIndex.build();
+        logger.info("Dropped all cached user state");
+    }
+}
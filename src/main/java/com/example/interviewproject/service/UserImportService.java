@@ -0,0 +1,444 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.Utils.CsvReader;
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.dto.response.UserImportReport;
+import com.example.interviewproject.model.EventType;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserRole;
+import com.example.interviewproject.model.UserStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Admin import of users from CSV. The upload is spooled to a temporary file and imported by a
+ * background job that reports progress: rows are streamed and validated one by one, valid rows are
+ * collected into chunks whose passwords are hashed in parallel on a dedicated pool, then persisted
+ * in one transaction per chunk with batched user and USER_REGISTERED event inserts.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    private static final List<String> COLUMNS = List.of("name", "surname", "username", "email", "phone", "password");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockIdAllocator blockIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserSearchIndex userSearchIndex;
+    private final UserStatsCache userStatsCache;
+    private final VerificationEmailQueue verificationEmailQueue;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<String, ImportRun> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "user-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ForkJoinPool hashPool;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.import.verification-expiry-hours:24}")
+    private long verificationExpiryHours;
+
+    @PostConstruct
+    void startHashPool() {
+        hashPool = new ForkJoinPool(hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stopHashPool() {
+        executor.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Spool the CSV and queue its import, returns the job report to poll. The header row must name
+     * the columns name, surname, username, email, phone and password in any order; it is checked
+     * before the job is queued. Rows failing validation are reported and skipped.
+     */
+    public UserImportReport submit(MultipartFile file, boolean sendVerificationEmails) {
+        Path csvFile = null;
+        boolean queued = false;
+        try {
+            // The upload's own temporary file is deleted when the request completes
+            csvFile = Files.createTempFile("user-import-", ".csv");
+            file.transferTo(csvFile);
+            try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+                readHeader(new CsvReader(reader).next());
+            }
+
+            ImportRun run = new ImportRun(UUID.randomUUID().toString(), sendVerificationEmails);
+            jobs.put(run.id, run);
+            trimFinishedJobs();
+
+            Path queuedFile = csvFile;
+            executor.submit(() -> {
+                try {
+                    importUsers(run, queuedFile);
+                } finally {
+                    deleteQuietly(queuedFile);
+                }
+            });
+            queued = true;
+            logger.info("Queued user import {} ({} bytes)", run.id, file.getSize());
+            return run.toReport();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read CSV file: " + e.getMessage(), e);
+        } finally {
+            if (!queued && csvFile != null) {
+                deleteQuietly(csvFile);
+            }
+        }
+    }
+
+    public UserImportReport getStatus(String jobId) {
+        ImportRun run = jobs.get(jobId);
+        if (run == null) {
+            throw new RuntimeException("User import not found with ID: " + jobId);
+        }
+        return run.toReport();
+    }
+
+    private void importUsers(ImportRun run, Path csvFile) {
+        run.state = "RUNNING";
+        run.startedAt = LocalDateTime.now();
+        try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            Map<String, Integer> header = readHeader(csv.next());
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                run.totalRows.incrementAndGet();
+                ImportRow row = validate(run, csv.getRecordLine(), header, record);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(run, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(run, chunk);
+            }
+            run.state = "COMPLETED";
+            logger.info("Imported {} of {} users in {} ms ({} rejected)", run.imported.get(), run.totalRows.get(),
+                    Duration.between(run.startedAt, LocalDateTime.now()).toMillis(), run.failed.get());
+        } catch (Exception e) {
+            run.state = "FAILED";
+            run.error = e.getMessage();
+            logger.error("User import {} failed after {} rows", run.id, run.totalRows.get(), e);
+        } finally {
+            run.finishedAt = LocalDateTime.now();
+            if (run.imported.get() > 0) {
+                userStatsCache.invalidate();
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = COLUMNS.stream().filter(c -> !positions.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return positions;
+    }
+
+    private ImportRow validate(ImportRun run, int line, Map<String, Integer> header, List<String> record) {
+        Map<String, String> values = new HashMap<>();
+        for (String column : COLUMNS) {
+            int index = header.get(column);
+            String value = index < record.size() ? record.get(index).trim() : "";
+            if (value.isEmpty()) {
+                return reject(run, line, column, column + " is required");
+            }
+            values.put(column, value);
+        }
+
+        String email = values.get("email");
+        String username = values.get("username");
+        String phone = values.get("phone");
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            return reject(run, line, "email", "invalid email address");
+        }
+        if (values.get("password").length() < 5) {
+            return reject(run, line, "password", "password should be at least 5 chars");
+        }
+
+        // Duplicates within the file first, they are free to detect and would otherwise fail the chunk insert
+        if (!run.emails.add(SearchText.normalize(email))) {
+            return reject(run, line, "email", "duplicate email in file");
+        }
+        if (!run.usernames.add(SearchText.normalize(username))) {
+            return reject(run, line, "username", "duplicate username in file");
+        }
+        if (!run.phones.add(SearchText.normalize(phone))) {
+            return reject(run, line, "phone", "duplicate phone in file");
+        }
+        if (!userAvailabilityService.isEmailAvailable(email)) {
+            return reject(run, line, "email", "Email is already registered");
+        }
+        if (!userAvailabilityService.isUsernameAvailable(username)) {
+            return reject(run, line, "username", "Username is already taken");
+        }
+        if (!userAvailabilityService.isPhoneAvailable(phone)) {
+            return reject(run, line, "phone", "Phone is already registered");
+        }
+
+        return new ImportRow(line, values.get("name"), values.get("surname"), username, email, phone,
+                values.get("password"));
+    }
+
+    private void importChunk(ImportRun run, List<ImportRow> rows) {
+        hashPasswords(rows);
+
+        List<User> users;
+        try {
+            users = transactionTemplate.execute(tx -> persist(rows));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // A concurrent signup took one of the keys after validation, retry row by row to isolate it
+            logger.warn("Import chunk hit a constraint violation, retrying {} rows individually", rows.size());
+            users = new ArrayList<>();
+            for (ImportRow row : rows) {
+                try {
+                    users.addAll(transactionTemplate.execute(tx -> persist(List.of(row))));
+                } catch (DataIntegrityViolationException | ConstraintViolationException rowFailure) {
+                    reject(run, row.line, null, "user conflicts with an existing account");
+                }
+            }
+        }
+
+        for (User user : users) {
+            userSearchIndex.add(user);
+            userAvailabilityService.register(user);
+            if (run.sendVerificationEmails) {
+                verificationEmailQueue.enqueue(user.getEmail(), user.getVerificationCode());
+                run.verificationEmailsQueued.incrementAndGet();
+            }
+        }
+        run.imported.addAndGet(users.size());
+    }
+
+    // BCrypt dominates the import cost, spread it over the hash pool
+    private void hashPasswords(List<ImportRow> rows) {
+        try {
+            hashPool.submit(() -> rows.parallelStream()
+                    .forEach(row -> row.passwordHash = passwordEncoder.encode(row.password))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to hash passwords", e.getCause());
+        }
+    }
+
+    // Runs inside the chunk transaction; users go through Hibernate's JDBC batching, events through JdbcTemplate
+    private List<User> persist(List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            User user = User.builder()
+                    .name(row.name)
+                    .surname(row.surname)
+                    .username(row.username)
+                    .phone(row.phone)
+                    .email(row.email)
+                    .password(row.passwordHash)
+                    .userStatus(UserStatus.ACTIVE)
+                    .passwordChangeAttempts(0)
+                    // Always issued; imports without emails get their code later through /resend
+                    .verificationCode(generateVerificationCode())
+                    .verificationCodeExpiresAt(now.plusHours(verificationExpiryHours))
+                    .enabled(false)
+                    .userRole(UserRole.USER)
+                    .build();
+            entityManager.persist(user);
+            users.add(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, users.stream().map(User::getId).toList());
+
+        Timestamp eventTime = Timestamp.valueOf(now);
+        List<Object[]> events = new ArrayList<>(users.size());
+        for (User user : users) {
+            events.add(new Object[]{blockIdAllocator.next("user_events"), user.getId(),
+                    EventType.USER_REGISTERED.name(), eventTime});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_events (id, user_id, event_type, event_time) VALUES (?, ?, ?, ?)", events);
+        return users;
+    }
+
+    private ImportRow reject(ImportRun run, int line, String field, String message) {
+        run.failed.incrementAndGet();
+        synchronized (run.errors) {
+            if (run.errors.size() < maxReportedErrors) {
+                run.errors.add(new UserImportReport.RowError(line, field, message));
+            }
+        }
+        return null;
+    }
+
+    private void trimFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        List<ImportRun> finished = new ArrayList<>();
+        jobs.values().forEach(j -> {
+            if (j.finishedAt != null) {
+                finished.add(j);
+            }
+        });
+        finished.sort((a, b) -> a.finishedAt.compareTo(b.finishedAt));
+        for (int i = 0; i < finished.size() && jobs.size() > MAX_RETAINED_JOBS; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private String generateVerificationCode() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(900000) + 100000);
+    }
+
+    // Counters are read by status requests while the import thread updates them
+    private static final class ImportRun {
+        private final String id;
+        private final boolean sendVerificationEmails;
+        private final AtomicLong totalRows = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong verificationEmailsQueued = new AtomicLong();
+        private final List<UserImportReport.RowError> errors = new ArrayList<>();
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> phones = new HashSet<>();
+        private volatile String state = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private ImportRun(String id, boolean sendVerificationEmails) {
+            this.id = id;
+            this.sendVerificationEmails = sendVerificationEmails;
+        }
+
+        private UserImportReport toReport() {
+            UserImportReport report = new UserImportReport();
+            report.setJobId(id);
+            report.setState(state);
+            report.setTotalRows(totalRows.get());
+            report.setImported(imported.get());
+            report.setFailed(failed.get());
+            report.setVerificationEmailsQueued(verificationEmailsQueued.get());
+            LocalDateTime started = startedAt;
+            LocalDateTime finished = finishedAt;
+            report.setStartedAt(started);
+            report.setFinishedAt(finished);
+            if (started != null) {
+                report.setDurationMs(Duration.between(started, finished != null ? finished : LocalDateTime.now()).toMillis());
+            }
+            report.setError(error);
+            synchronized (errors) {
+                report.setErrors(new ArrayList<>(errors));
+            }
+            return report;
+        }
+    }
+
+    private static final class ImportRow {
+        private final int line;
+        private final String name;
+        private final String surname;
+        private final String username;
+        private final String email;
+        private final String phone;
+        private final String password;
+        private volatile String passwordHash;
+
+        private ImportRow(int line, String name, String surname, String username, String email,
+                          String phone, String password) {
+            this.line = line;
+            this.name = name;
+            this.surname = surname;
+            this.username = username;
+            this.email = email;
+            this.phone = phone;
+            this.password = password;
+        }
+    }
+}
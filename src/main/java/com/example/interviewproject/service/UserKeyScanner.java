@@ -0,0 +1,46 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Parallel scan of the users key columns in id-range chunks, used to build the
+ * in-memory search index and availability filters at startup
+ */
+@Component
+@RequiredArgsConstructor
+public class UserKeyScanner {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.user-scan.threads:4}")
+    private int threads;
+
+    @Value("${app.user-scan.chunk-size:10000}")
+    private int chunkSize;
+
+    /**
+     * Feed every user's keys to the consumer, which is called concurrently from the scan threads
+     */
+    public void scan(Consumer<UserRepository.UserKeys> consumer) throws InterruptedException, ExecutionException {
+        long maxId = userRepository.findMaxId();
+        long chunks = maxId / chunkSize + 1;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> LongStream.range(0, chunks).parallel().forEach(chunk -> {
+                long fromId = chunk * chunkSize;
+                userRepository.findKeysInIdRange(fromId, fromId + chunkSize).forEach(consumer);
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.model.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * In-memory trigram index over username and email used by the admin search.
+ * Resolves a search string to candidate user ids which are then fetched in one batch,
+ * instead of running a LIKE '%x%' scan over the whole users table.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    private static final int GRAM = 3;
+
+    private final UserKeyScanner userKeyScanner;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String[]> keys = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.max-candidates:10000}")
+    private int maxCandidates;
+
+    /**
+     * Build the index once the application is up, scanning id ranges in parallel
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            logger.info("User search index disabled, admin search falls back to database scans");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            userKeyScanner.scan(k -> add(k.getId(), k.getUsername(), k.getEmail()));
+            ready = true;
+            logger.info("User search index built: {} users, {} trigrams in {} ms",
+                    keys.size(), postings.size(), System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("User search index build interrupted", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to build user search index", e.getCause());
+        }
+    }
+
+    public void add(User user) {
+        add(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    public void remove(Long userId) {
+        String[] removed = keys.remove(userId);
+        if (removed == null) {
+            return;
+        }
+        for (String key : removed) {
+            for (String gram : grams(key)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(userId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve a search string to the ids of users whose username or email contains it.
+     * Returns empty when the index cannot answer (disabled, still building, query shorter
+     * than a trigram or too many candidates) and the caller should query the database.
+     */
+    public Optional<Set<Long>> findCandidates(String search) {
+        if (!enabled || !ready || search == null) {
+            return Optional.empty();
+        }
+
+        String query = normalize(search);
+        if (query.length() < GRAM) {
+            return Optional.empty();
+        }
+
+        // Every match contains all trigrams of the query, so the rarest one bounds the candidates
+        Set<Long> smallest = null;
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null || ids.isEmpty()) {
+                return Optional.of(Set.of());
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        Set<Long> candidates = new HashSet<>();
+        for (Long id : smallest) {
+            String[] userKeys = keys.get(id);
+            if (userKeys != null && (userKeys[0].contains(query) || userKeys[1].contains(query))) {
+                candidates.add(id);
+                if (candidates.size() > maxCandidates) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(candidates);
+    }
+
+    private void add(Long userId, String username, String email) {
+        String[] userKeys = {normalize(username), normalize(email)};
+        keys.put(userId, userKeys);
+        for (String key : userKeys) {
+            for (String gram : grams(key)) {
+                postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : SearchText.normalize(value);
+    }
+}
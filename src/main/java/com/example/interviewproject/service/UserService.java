@@ -1,15 +1,26 @@
 package com.example.interviewproject.service;
 
+import com.example.interviewproject.Utils.ConditionalGet;
 import com.example.interviewproject.Utils.LimitProperties;
+import com.example.interviewproject.Utils.SearchText;
+import com.example.interviewproject.dto.response.UserResponse;
+import com.example.interviewproject.mapper.UserMapper;
 import com.example.interviewproject.model.EventType;
 import com.example.interviewproject.model.User;
 import com.example.interviewproject.model.UserEvent;
+import com.example.interviewproject.model.UserSearchMode;
 import com.example.interviewproject.model.UserStatus;
+import com.example.interviewproject.repository.ArchivedUserRepository;
 import com.example.interviewproject.repository.EventRepository;
 import com.example.interviewproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -17,11 +28,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -32,46 +47,113 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EventRepository eventRepository;
+    private final ArchivedUserRepository archivedUserRepository;
     private final LimitProperties limitProperties;
+    private final UserSearchIndex userSearchIndex;
+    private final UserStatsCache userStatsCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserMapper userMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.search.mode:MEMORY}")
+    private UserSearchMode defaultSearchMode;
+
     @Transactional(readOnly = true)
-    public List<User> getAllUsersList() {
-        return userRepository.findAll();
+    public List<UserResponse> getAllUsersList() {
+        return userRepository.findAllResponses();
     }
 
     /**
      * Get all users with pagination
      */
     @Transactional(readOnly = true)
-    public Page<User> getAllUsers(Pageable pageable) {
+    public Page<UserResponse> getAllUsers(Pageable pageable) {
         logger.debug("Fetching all users with pagination");
-        return userRepository.findAll(pageable);
+        return userRepository.findAllResponses(pageable);
     }
 
     /**
      * Get users by filters (status and search)
      */
     @Transactional(readOnly = true)
-    public Page<User> getUsersByFilters(UserStatus status, String search, Pageable pageable) {
+    public Page<UserResponse> getUsersByFilters(UserStatus status, String search, Pageable pageable) {
         logger.debug("Fetching users with filters - status: {}, search: {}", status, search);
-        return userRepository.findByFilters(status, search, pageable);
+        Optional<Set<Long>> candidates = userSearchIndex.findCandidates(search);
+        if (candidates.isPresent()) {
+            return findCandidates(candidates.get(), status, pageable).map(userMapper::toResponse);
+        }
+        return userRepository.findByFilters(status, search, pageable).map(userMapper::toResponse);
     }
 
     /**
      * Search users by username or email
      */
     @Transactional(readOnly = true)
-    public Page<User> searchUsers(String search, Pageable pageable) {
-        logger.debug("Searching users with query: {}", search);
-        return userRepository.searchUsers(search, pageable);
+    public Page<UserResponse> searchUsers(String search, Pageable pageable) {
+        return searchUsers(search, defaultSearchMode, pageable);
+    }
+
+    /**
+     * Search users with an explicit search mode, MEMORY uses the in-process index and
+     * the other modes query the normalized, indexed columns in the database
+     */
+    @Transactional(readOnly = true)
+    public Page<UserResponse> searchUsers(String search, UserSearchMode mode, Pageable pageable) {
+        return findBySearch(search, mode, pageable).map(userMapper::toResponse);
+    }
+
+    private Page<User> findBySearch(String search, UserSearchMode mode, Pageable pageable) {
+        UserSearchMode effectiveMode = mode != null ? mode : defaultSearchMode;
+        String query = SearchText.normalize(search);
+        if (effectiveMode == UserSearchMode.DATABASE) {
+            effectiveMode = pickDatabaseSearchMode(query);
+        }
+        logger.debug("Searching users with query: {}, mode: {}", search, effectiveMode);
+
+        switch (effectiveMode) {
+            case EXACT:
+                return userRepository.searchExact(query, pageable);
+            case PREFIX:
+                return userRepository.searchByPrefix(SearchText.escapeLike(query), pageable);
+            case FULL_TEXT:
+                return userRepository.searchFullText("\"" + query.replace("\"", "") + "\"", pageable);
+            default:
+                Optional<Set<Long>> candidates = userSearchIndex.findCandidates(search);
+                if (candidates.isPresent()) {
+                    return findCandidates(candidates.get(), null, pageable);
+                }
+                return userRepository.searchUsers(search, pageable);
+        }
+    }
+
+    /**
+     * Full email addresses are looked up exactly, single characters by prefix
+     * (below the ngram token size) and everything else through the FULLTEXT index
+     */
+    private UserSearchMode pickDatabaseSearchMode(String query) {
+        if (query.contains("@") && query.indexOf('.', query.indexOf('@')) > 0) {
+            return UserSearchMode.EXACT;
+        }
+        if (query.length() < 2) {
+            return UserSearchMode.PREFIX;
+        }
+        return UserSearchMode.FULL_TEXT;
+    }
+
+    private Page<User> findCandidates(Set<Long> candidateIds, UserStatus status, Pageable pageable) {
+        if (candidateIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return userRepository.findByIdInAndStatus(candidateIds, status, pageable);
     }
 
     /**
      * Get users by status
      */
     @Transactional(readOnly = true)
-    public Page<User> getUsersByStatus(UserStatus status, Pageable pageable) {
+    public Page<UserResponse> getUsersByStatus(UserStatus status, Pageable pageable) {
         logger.debug("Fetching users with status: {}", status);
-        return userRepository.findByUserStatus(status, pageable);
+        return userRepository.findResponsesByUserStatus(status, pageable);
     }
 
     /**
@@ -84,17 +166,59 @@ public class UserService {
     }
 
     /**
-     * Get user count statistics
+     * Get user by ID, falling back to the archive when includeArchived is set
+     */
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(Long userId, boolean includeArchived) {
+        if (!includeArchived) {
+            return userMapper.toResponse(getUserById(userId));
+        }
+        return userRepository.findById(userId).map(userMapper::toResponse)
+                .or(() -> archivedUserRepository.findById(userId).map(userMapper::toResponse))
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+    }
+
+    /**
+     * Get archived users with pagination
+     */
+    @Transactional(readOnly = true)
+    public Page<UserResponse> getArchivedUsers(Pageable pageable) {
+        return archivedUserRepository.findAll(pageable).map(userMapper::toResponse);
+    }
+
+    /**
+     * Get user count statistics: totals by status, verification and role from one cached aggregate
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Map<String, Long> getUserCountStats() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", userRepository.count());
-        stats.put("active", userRepository.countByUserStatus(UserStatus.ACTIVE));
-        stats.put("deleted", userRepository.countByUserStatus(UserStatus.DELETED));
+        return userStatsCache.getStats();
+    }
+
+    /**
+     * Get second-level cache statistics for the user entity, natural-id and query regions
+     */
+    public Map<String, Long> getUserCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        putRegionStats(stats, "users", statistics.getDomainDataRegionStatistics("users"));
+        putRegionStats(stats, "naturalIds", statistics.getDomainDataRegionStatistics("users-natural-id"));
+        stats.put("queries.hits", statistics.getQueryCacheHitCount());
+        stats.put("queries.misses", statistics.getQueryCacheMissCount());
+        stats.put("queries.puts", statistics.getQueryCachePutCount());
         return stats;
     }
 
+    private void putRegionStats(Map<String, Long> stats, String prefix, CacheRegionStatistics region) {
+        if (region == null) {
+            return;
+        }
+        stats.put(prefix + ".hits", region.getHitCount());
+        stats.put(prefix + ".misses", region.getMissCount());
+        stats.put(prefix + ".puts", region.getPutCount());
+        stats.put(prefix + ".size", region.getElementCountInMemory());
+    }
+
     @Transactional(readOnly = true)
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -111,6 +235,47 @@ public class UserService {
         return (User) principal;
     }
 
+    /**
+     * Current user's profile as returned by the API
+     */
+    public UserResponse getCurrentUserProfile() {
+        return userMapper.toResponse(getCurrentUser());
+    }
+
+    /**
+     * ETag of the current user's profile, taken from the already loaded principal so a 304 costs no query
+     */
+    public String getCurrentUserEtag() {
+        User user = getCurrentUser();
+        return ConditionalGet.etag("u", user.getId(), user.getVersion());
+    }
+
+    /**
+     * ETag of a single user from its version column; archived users never change
+     */
+    @Transactional(readOnly = true)
+    public String getUserEtag(Long userId, boolean includeArchived) {
+        Optional<Long> version = userRepository.findVersionById(userId);
+        if (version.isPresent()) {
+            return ConditionalGet.etag("u", userId, version.get());
+        }
+        if (includeArchived && archivedUserRepository.existsById(userId)) {
+            return ConditionalGet.etag("a", userId);
+        }
+        throw new IllegalArgumentException("User not found with id: " + userId);
+    }
+
+    /**
+     * ETag of a users page, a digest of the total and the id and version of every row on the page
+     */
+    @Transactional(readOnly = true)
+    public String getUsersPageEtag(Pageable pageable) {
+        Page<UserRepository.UserVersion> versions = userRepository.findVersions(pageable);
+        StringBuilder key = new StringBuilder().append(versions.getTotalElements());
+        versions.forEach(v -> key.append(',').append(v.getId()).append(':').append(v.getVersion()));
+        return ConditionalGet.etag("p", DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Transactional
     public void changePassword(String currentPassword, String newPassword) {
         User currentUser = getCurrentUser();
@@ -139,6 +304,7 @@ public class UserService {
         currentUser.setPassword(encodedNewPassword);
         currentUser.setPasswordChangeAttempts(currentUser.getPasswordChangeAttempts() + 1);
         userRepository.save(currentUser);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, currentUser.getId());
 
         UserEvent event = UserEvent.builder()
                 .eventTime(LocalDateTime.now())
@@ -163,6 +329,7 @@ public class UserService {
         String encodedNewPassword = passwordEncoder.encode(newPassword);
         user.setPassword(encodedNewPassword);
         userRepository.save(user);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, user.getId());
 
         logger.info("Password reset successfully for user: {} by admin", user.getUsername());
     }
@@ -175,8 +342,12 @@ public class UserService {
             throw new IllegalStateException("User already deleted");
         }
 
+        UserStatus previousStatus = currentUser.getUserStatus();
         currentUser.setUserStatus(UserStatus.DELETED);
+        currentUser.setDeletedAt(LocalDateTime.now());
         userRepository.save(currentUser);
+        userStatsCache.userStatusChanged(currentUser, previousStatus);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, currentUser.getId());
 
         UserEvent event = UserEvent.builder()
                 .eventTime(LocalDateTime.now())
@@ -198,8 +369,12 @@ public class UserService {
             throw new IllegalStateException("User already deleted");
         }
 
+        UserStatus previousStatus = user.getUserStatus();
         user.setUserStatus(UserStatus.DELETED);
+        user.setDeletedAt(LocalDateTime.now());
         userRepository.save(user);
+        userStatsCache.userStatusChanged(user, previousStatus);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USERS, user.getId());
 
         UserEvent event = UserEvent.builder()
                 .eventTime(LocalDateTime.now())
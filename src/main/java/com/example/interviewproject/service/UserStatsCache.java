@@ -0,0 +1,159 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.model.UserRole;
+import com.example.interviewproject.model.UserStatus;
+import com.example.interviewproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * User counts per (status, enabled, role) bucket, loaded with one GROUP BY query and kept for a
+ * short TTL. Signup, verification and deletion adjust the buckets after commit so the dashboard
+ * stays accurate between reloads.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatsCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsCache.class);
+
+    private final UserRepository userRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Bucket, Long> counts = new HashMap<>();
+    private long loadedAt;
+    private boolean loaded;
+
+    @Value("${app.stats.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    public Map<String, Long> getStats() {
+        lock.lock();
+        try {
+            if (!loaded || System.currentTimeMillis() - loadedAt > ttlSeconds * 1000) {
+                reload();
+            }
+            return toStats();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void userRegistered(User user) {
+        afterCommit(() -> adjust(bucketOf(user), 1));
+    }
+
+    public void userVerified(User user) {
+        Bucket from = new Bucket(user.getUserStatus(), false, user.getUserRole());
+        Bucket to = new Bucket(user.getUserStatus(), true, user.getUserRole());
+        afterCommit(() -> move(from, to));
+    }
+
+    public void userStatusChanged(User user, UserStatus previousStatus) {
+        Bucket from = new Bucket(previousStatus, user.isEnabled(), user.getUserRole());
+        Bucket to = bucketOf(user);
+        afterCommit(() -> move(from, to));
+    }
+
+    /**
+     * Drop the cached counts, used after changes too broad to apply incrementally
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reload() {
+        counts.clear();
+        userRepository.countGroupedByStatusEnabledAndRole().forEach(b -> counts.put(
+                new Bucket(b.getUserStatus(), Boolean.TRUE.equals(b.getEnabled()), b.getUserRole()),
+                b.getTotal()));
+        loadedAt = System.currentTimeMillis();
+        loaded = true;
+        logger.debug("Reloaded user statistics: {} buckets", counts.size());
+    }
+
+    private Map<String, Long> toStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("total", 0L);
+        stats.put("active", 0L);
+        stats.put("deleted", 0L);
+        stats.put("verified", 0L);
+        stats.put("unverified", 0L);
+        for (UserRole role : UserRole.values()) {
+            stats.put("role_" + role.name().toLowerCase(Locale.ROOT), 0L);
+        }
+
+        counts.forEach((bucket, count) -> {
+            stats.merge("total", count, Long::sum);
+            if (bucket.status() == UserStatus.ACTIVE) {
+                stats.merge("active", count, Long::sum);
+            } else if (bucket.status() == UserStatus.DELETED) {
+                stats.merge("deleted", count, Long::sum);
+            }
+            stats.merge(bucket.enabled() ? "verified" : "unverified", count, Long::sum);
+            if (bucket.role() != null) {
+                stats.merge("role_" + bucket.role().name().toLowerCase(Locale.ROOT), count, Long::sum);
+            }
+        });
+        return stats;
+    }
+
+    private void move(Bucket from, Bucket to) {
+        lock.lock();
+        try {
+            if (loaded) {
+                counts.merge(from, -1L, Long::sum);
+                counts.merge(to, 1L, Long::sum);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(Bucket bucket, long delta) {
+        lock.lock();
+        try {
+            if (loaded) {
+                counts.merge(bucket, delta, Long::sum);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Bucket bucketOf(User user) {
+        return new Bucket(user.getUserStatus(), user.isEnabled(), user.getUserRole());
+    }
+
+    private record Bucket(UserStatus status, boolean enabled, UserRole role) {
+    }
+}
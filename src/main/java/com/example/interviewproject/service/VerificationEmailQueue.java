@@ -0,0 +1,58 @@
+package com.example.interviewproject.service;
+
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Verification emails deferred out of bulk imports, sent a few at a time in the background
+ * so an import of thousands of users does not wait on or flood the SMTP server
+ */
+@Component
+@RequiredArgsConstructor
+public class VerificationEmailQueue {
+    private static final Logger logger = LoggerFactory.getLogger(VerificationEmailQueue.class);
+
+    private final EmailService emailService;
+
+    private final Queue<PendingEmail> pending = new ConcurrentLinkedQueue<>();
+
+    @Value("${app.import.emails-per-drain:50}")
+    private int emailsPerDrain;
+
+    public void enqueue(String to, String verificationCode) {
+        pending.add(new PendingEmail(to, verificationCode));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.import.email-drain-interval-ms:1000}")
+    public void drain() {
+        int sent = 0;
+        PendingEmail email;
+        while (sent < emailsPerDrain && (email = pending.poll()) != null) {
+            try {
+                emailService.sendVerificationCode(email.to(), email.verificationCode());
+                sent++;
+            } catch (MessagingException | RuntimeException e) {
+                // The user can still request a new code through resend-verification
+                logger.warn("Failed to send queued verification email to {}", email.to(), e);
+            }
+        }
+        if (sent > 0) {
+            logger.debug("Sent {} queued verification emails, {} remaining", sent, pending.size());
+        }
+    }
+
+    private record PendingEmail(String to, String verificationCode) {
+    }
+}
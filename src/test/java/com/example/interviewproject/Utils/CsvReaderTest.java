@@ -0,0 +1,122 @@
+package com.example.interviewproject.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecords() throws IOException {
+        assertThat(readAll("name,email\nJohn,john@example.com\n")).containsExactly(
+                List.of("name", "email"),
+                List.of("John", "john@example.com"));
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() throws IOException {
+        assertThat(readAll("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void quotedFieldsMayContainCommas() throws IOException {
+        assertThat(readAll("\"Doe, John\",x\n")).containsExactly(List.of("Doe, John", "x"));
+    }
+
+    @Test
+    void doubledQuotesInsideQuotedFieldsAreEscapes() throws IOException {
+        assertThat(readAll("\"say \"\"hi\"\"\",\"\"\"\"\n")).containsExactly(List.of("say \"hi\"", "\""));
+    }
+
+    @Test
+    void emptyQuotedFieldIsEmpty() throws IOException {
+        assertThat(readAll("\"\",b\n")).containsExactly(List.of("", "b"));
+    }
+
+    @Test
+    void quotedFieldsMayContainLineBreaks() throws IOException {
+        CsvReader csv = reader("header\n\"line one\nline two\",x\nnext\n");
+
+        assertThat(csv.next()).containsExactly("header");
+        assertThat(csv.getRecordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("line one\nline two", "x");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        // Line numbers keep counting the physical lines inside the quoted field
+        assertThat(csv.next()).containsExactly("next");
+        assertThat(csv.getRecordLine()).isEqualTo(4);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void crlfEndsRecords() throws IOException {
+        CsvReader csv = reader("a,b\r\nc,d\r\n");
+
+        assertThat(csv.next()).containsExactly("a", "b");
+        assertThat(csv.next()).containsExactly("c", "d");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void crlfAfterQuotedField() throws IOException {
+        assertThat(readAll("\"a\",\"b\"\r\n\"c\",d\r\n")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void crlfInsideQuotedFieldIsKept() throws IOException {
+        assertThat(readAll("\"x\r\ny\",z\r\n")).containsExactly(List.of("x\r\ny", "z"));
+    }
+
+    @Test
+    void bareCarriageReturnEndsRecord() throws IOException {
+        assertThat(readAll("a\rb\r")).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void trailingEmptyFieldsAreKept() throws IOException {
+        assertThat(readAll("a,b,\n,,\nc,")).containsExactly(
+                List.of("a", "b", ""),
+                List.of("", "", ""),
+                List.of("c", ""));
+    }
+
+    @Test
+    void blankLineIsOneEmptyField() throws IOException {
+        assertThat(readAll("a\n\nb\n")).containsExactly(List.of("a"), List.of(""), List.of("b"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(reader("").next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuotedFieldFails() {
+        CsvReader csv = reader("a\n\"never closed,b\n");
+
+        assertThatThrownBy(() -> {
+            csv.next();
+            csv.next();
+        }).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = reader(csv);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
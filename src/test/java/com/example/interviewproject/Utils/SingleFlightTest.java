@@ -0,0 +1,161 @@
+package com.example.interviewproject.Utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch leaderEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseLeader = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseLeader.countDown();
+    }
+
+    @Test
+    void followerSharesTheLeadersResult() throws Exception {
+        Object value = new Object();
+        FutureTask<SingleFlight.Result> leader = start(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            leaderEntered.countDown();
+            releaseLeader.await();
+            return value;
+        }));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        FutureTask<SingleFlight.Result> follower = startWaiting(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return new Object();
+        }));
+        releaseLeader.countDown();
+
+        SingleFlight.Result leaderResult = leader.get(5, TimeUnit.SECONDS);
+        SingleFlight.Result followerResult = follower.get(5, TimeUnit.SECONDS);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(leaderResult.value()).isSameAs(value);
+        assertThat(leaderResult.shared()).isFalse();
+        assertThat(followerResult.value()).isSameAs(value);
+        assertThat(followerResult.shared()).isTrue();
+    }
+
+    @Test
+    void followerGetsTheLeadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        FutureTask<SingleFlight.Result> leader = start(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            leaderEntered.countDown();
+            releaseLeader.await();
+            throw failure;
+        }));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        FutureTask<SingleFlight.Result> follower = startWaiting(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return "own result";
+        }));
+        releaseLeader.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isSameAs(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isSameAs(failure);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void nextCallerRunsAgainOnceTheCallCompleted() throws Throwable {
+        SingleFlight.Result first = singleFlight.execute("key", calls::incrementAndGet);
+        SingleFlight.Result second = singleFlight.execute("key", calls::incrementAndGet);
+
+        assertThat(first.value()).isEqualTo(1);
+        assertThat(first.shared()).isFalse();
+        assertThat(second.value()).isEqualTo(2);
+        assertThat(second.shared()).isFalse();
+    }
+
+    @Test
+    void nextCallerRunsAgainAfterAFailure() throws Throwable {
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("first attempt");
+        })).isInstanceOf(IllegalStateException.class);
+
+        SingleFlight.Result retry = singleFlight.execute("key", () -> "recovered");
+
+        assertThat(retry.value()).isEqualTo("recovered");
+        assertThat(retry.shared()).isFalse();
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() throws Throwable {
+        FutureTask<SingleFlight.Result> leader = start(() -> singleFlight.execute("a", () -> {
+            leaderEntered.countDown();
+            releaseLeader.await();
+            return "a";
+        }));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        SingleFlight.Result other = singleFlight.execute("b", () -> "b");
+
+        assertThat(other.value()).isEqualTo("b");
+        assertThat(other.shared()).isFalse();
+        assertThat(leader.isDone()).isFalse();
+        releaseLeader.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS).value()).isEqualTo("a");
+    }
+
+    @FunctionalInterface
+    private interface Execution {
+        SingleFlight.Result run() throws Throwable;
+    }
+
+    private static FutureTask<SingleFlight.Result> start(Execution execution) {
+        return startThread(execution).task;
+    }
+
+    // Starts a caller and returns once it is parked waiting on the call in flight
+    private static FutureTask<SingleFlight.Result> startWaiting(Execution execution) throws InterruptedException {
+        Started started = startThread(execution);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (started.thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > deadline) {
+                fail("Caller did not start waiting for the call in flight");
+            }
+            Thread.sleep(1);
+        }
+        return started.task;
+    }
+
+    private static Started startThread(Execution execution) {
+        FutureTask<SingleFlight.Result> task = new FutureTask<>(() -> {
+            try {
+                return execution.run();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+        Thread thread = new Thread(task, "single-flight-caller");
+        thread.setDaemon(true);
+        thread.start();
+        return new Started(thread, task);
+    }
+
+    private record Started(Thread thread, FutureTask<SingleFlight.Result> task) {
+    }
+}
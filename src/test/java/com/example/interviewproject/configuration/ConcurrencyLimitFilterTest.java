@@ -0,0 +1,177 @@
+package com.example.interviewproject.configuration;
+
+import com.example.interviewproject.service.AdaptiveConcurrencyLimiter;
+import com.example.interviewproject.service.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 10);
+        ReflectionTestUtils.setField(limiter, "minLimit", 4);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 400);
+        ReflectionTestUtils.setField(limiter, "minWindowSamples", 10);
+        ReflectionTestUtils.setField(limiter, "adminShare", 0.8);
+        ReflectionTestUtils.setField(limiter, "lowShare", 0.5);
+        filter = new ConcurrencyLimitFilter(limiter);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 1);
+    }
+
+    @Test
+    void classifiesSignedInUserCallsAboveSignupAndAdminCalls() {
+        assertThat(classify("POST", "/api/v1/auth/login")).isEqualTo(Priority.USER);
+        assertThat(classify("POST", "/api/v1/auth/verify")).isEqualTo(Priority.USER);
+        assertThat(classify("GET", "/api/v1/users/my-profile")).isEqualTo(Priority.USER);
+        assertThat(classify("GET", "/api/v1/events/my-events")).isEqualTo(Priority.USER);
+
+        assertThat(classify("POST", "/api/v1/auth/signup")).isEqualTo(Priority.ADMIN);
+        assertThat(classify("POST", "/api/v1/auth/resend")).isEqualTo(Priority.ADMIN);
+        assertThat(classify("GET", "/api/v1/auth/availability")).isEqualTo(Priority.ADMIN);
+        assertThat(classify("GET", "/api/v1/users/all")).isEqualTo(Priority.ADMIN);
+        assertThat(classify("GET", "/api/v1/events")).isEqualTo(Priority.ADMIN);
+        assertThat(classify("GET", "/actuator/prometheus")).isEqualTo(Priority.ADMIN);
+
+        assertThat(classify("GET", "/api/v1/demo")).isEqualTo(Priority.LOW);
+        assertThat(classify("GET", "/swagger-ui.html")).isEqualTo(Priority.LOW);
+    }
+
+    @Test
+    void releasesPermitWhenSynchronousRequestEnds() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/my-profile");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void releasesPermitWhenChainThrows() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/my-profile");
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            throw new ServletException("boom");
+        })).isInstanceOf(ServletException.class);
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void holdsPermitUntilAsyncRequestCompletes() throws Exception {
+        MockAsyncContext context = startAsync();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        context.complete();
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void releasesPermitOnAsyncTimeout() throws Exception {
+        MockAsyncContext context = startAsync();
+
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void releasesPermitOnceOnAsyncErrorFollowedByComplete() throws Exception {
+        MockAsyncContext context = startAsync();
+
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IOException("client gone")));
+        }
+        context.complete();
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shedsWith503AndRetryAfterOverTheLimit() throws Exception {
+        while (limiter.tryAcquire(Priority.USER)) {
+            // fill the limit
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/my-profile");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void neverLimitsHealthProbes() throws Exception {
+        while (limiter.tryAcquire(Priority.USER)) {
+            // fill the limit
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health/readiness"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncUserRequestsAreReleasedWithoutASample() throws Exception {
+        MockAsyncContext context = startAsync("/api/v1/users/my-profile");
+        context.complete();
+
+        // Async time includes bulkhead queueing, it must not reach the latency window
+        assertThat(ReflectionTestUtils.getField(limiter, "windowSamples")).isEqualTo(0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void synchronousUserRequestsAreSampled() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/users/my-profile"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/users/all"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(ReflectionTestUtils.getField(limiter, "windowSamples")).isEqualTo(1);
+    }
+
+    private MockAsyncContext startAsync() throws Exception {
+        return startAsync("/api/v1/users/all");
+    }
+
+    private MockAsyncContext startAsync(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync(req, res));
+
+        return (MockAsyncContext) request.getAsyncContext();
+    }
+
+    private static Priority classify(String method, String path) {
+        return ConcurrencyLimitFilter.classify(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.interviewproject.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private ResultSet replicaStatus;
+
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadWriteRoutingDataSource(primary, replica, 30, 60_000);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws Exception {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void writesGoToThePrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenTheReplicaConnectionFails() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.isReplicaHealthy()).isFalse();
+
+        // Further reads skip the replica until a health check succeeds
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void routesBothConnectionOverloads() throws Exception {
+        when(replica.getConnection("app", "secret")).thenReturn(replicaConnection);
+        when(primary.getConnection("app", "secret")).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection("app", "secret")).isSameAs(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection("app", "secret")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void credentialOverloadFallsBackToThePrimary() throws Exception {
+        when(replica.getConnection("app", "secret")).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection("app", "secret")).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection("app", "secret")).isSameAs(primaryConnection);
+        assertThat(routing.isReplicaHealthy()).isFalse();
+    }
+
+    @Test
+    void committedWritePinsTheWritersReadsToThePrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        signIn("alice");
+
+        write(true);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        // Other users still read from the replica
+        signIn("bob");
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinReads() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        signIn("alice");
+
+        write(false);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void replicaWithoutReplicationStatusIsHealthy() throws Exception {
+        replicaStatus();
+        when(replicaStatus.next()).thenReturn(false);
+
+        routing.checkReplica();
+
+        assertThat(routing.isReplicaHealthy()).isTrue();
+    }
+
+    @Test
+    void stoppedReplicationMarksTheReplicaUnhealthy() throws Exception {
+        replicaStatus();
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getLong("Seconds_Behind_Source")).thenReturn(0L);
+        when(replicaStatus.wasNull()).thenReturn(true);
+
+        routing.checkReplica();
+
+        assertThat(routing.isReplicaHealthy()).isFalse();
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() throws Exception {
+        replicaStatus();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getLong("Seconds_Behind_Source")).thenReturn(120L, 2L);
+        when(replicaStatus.wasNull()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.checkReplica();
+        assertThat(routing.isReplicaHealthy()).isFalse();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        routing.checkReplica();
+        assertThat(routing.isReplicaHealthy()).isTrue();
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void failedHealthCheckMarksTheReplicaUnhealthy() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        routing.checkReplica();
+
+        assertThat(routing.isReplicaHealthy()).isFalse();
+    }
+
+    // A read-write transaction on the primary, finished with a commit or a rollback
+    private void write(boolean commit) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (commit) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void replicaStatus() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(replicaStatus);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.interviewproject.configuration;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementListenerTest {
+
+    @Test
+    void redactsPasswordAndVerificationCodeInInserts() throws Exception {
+        QueryInfo insert = query("insert into users (email,password,phone,verification_code,id) values (?,?,?,?,?)",
+                "john@example.com", "$2a$10$hash", "+994501234567", "123456", "42");
+
+        assertThat(SqlStatementListener.parameters(List.of(insert)))
+                .isEqualTo("[john@example.com, ***, +994501234567, ***, 42]");
+    }
+
+    @Test
+    void redactsComparedColumnsWithTableAliases() throws Exception {
+        QueryInfo update = query("update users u1_0 set u1_0.password=?,version=? where u1_0.id=?",
+                "$2a$10$hash", "3", "42");
+        QueryInfo select = query("select u1_0.id from users u1_0 where u1_0.verification_code = ? and u1_0.email like ?",
+                "123456", "john%");
+
+        assertThat(SqlStatementListener.parameters(List.of(update))).isEqualTo("[***, 3, 42]");
+        assertThat(SqlStatementListener.parameters(List.of(select))).isEqualTo("[***, john%]");
+    }
+
+    @Test
+    void ignoresPlaceholdersInsideLiterals() throws Exception {
+        QueryInfo select = query("select id from users where name = 'password=?' and email = ?", "john@example.com");
+
+        assertThat(SqlStatementListener.parameters(List.of(select))).isEqualTo("[john@example.com]");
+    }
+
+    private static QueryInfo query(String sql, String... values) throws Exception {
+        Method setString = PreparedStatement.class.getMethod("setString", int.class, String.class);
+        List<ParameterSetOperation> operations = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            operations.add(new ParameterSetOperation(setString, new Object[]{i + 1, values[i]}));
+        }
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().add(operations);
+        return queryInfo;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.service.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the gradient limit with synthetic latencies. Windows close after ten samples regardless of
+ * time (window-ms 0), so each call to window() is exactly one limit update.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int WINDOW_SAMPLES = 10;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void lowerPrioritiesAreAdmittedUpToTheirShareOfTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        assertThat(acquireAll(limiter, Priority.LOW)).isEqualTo(5);
+        assertThat(acquireAll(limiter, Priority.ADMIN)).isEqualTo(3);
+        assertThat(acquireAll(limiter, Priority.USER)).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+
+        assertThat(shed(Priority.LOW)).isEqualTo(1);
+        assertThat(shed(Priority.ADMIN)).isEqualTo(1);
+        assertThat(shed(Priority.USER)).isEqualTo(1);
+    }
+
+    @Test
+    void releasedPermitsAreAvailableAgain() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        acquireAll(limiter, Priority.USER);
+        assertThat(limiter.tryAcquire(Priority.USER)).isFalse();
+
+        limiter.release(Priority.USER, 0, false);
+
+        assertThat(limiter.getInFlight()).isEqualTo(9);
+        assertThat(limiter.tryAcquire(Priority.USER)).isTrue();
+        // Still above the admin share
+        assertThat(limiter.tryAcquire(Priority.ADMIN)).isFalse();
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 3; i++) {
+            window(limiter, 5, 10);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        window(limiter, 5, 100);
+        int afterFirstSlowWindow = limiter.getLimit();
+        assertThat(afterFirstSlowWindow).isLessThan(20);
+
+        window(limiter, 5, 100);
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(afterFirstSlowWindow);
+    }
+
+    @Test
+    void limitNeverShrinksBelowMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        ReflectionTestUtils.setField(limiter, "minLimit", 19);
+        for (int i = 0; i < 3; i++) {
+            window(limiter, 5, 10);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter, 5, 100);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(19);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsUnderDemand() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 5; i++) {
+            window(limiter, 15, 10);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void limitDoesNotGrowWhenDemandIsBelowHalfTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 20; i++) {
+            window(limiter, 9, 10);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void failedRequestsDoNotMoveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        window(limiter, 5, 10);
+
+        for (int i = 0; i < 10 * WINDOW_SAMPLES; i++) {
+            assertThat(limiter.tryAcquire(Priority.USER)).isTrue();
+            limiter.release(Priority.USER, TimeUnit.SECONDS.toNanos(5), false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void slowAdminRequestsDoNotCollapseTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 3; i++) {
+            window(limiter, 5, 10);
+        }
+
+        // One 2 s export per nine 10 ms logins, for as many windows as the baseline had
+        for (int w = 0; w < 20; w++) {
+            for (int i = 0; i < WINDOW_SAMPLES; i++) {
+                assertThat(limiter.tryAcquire(Priority.USER)).isTrue();
+                limiter.release(Priority.USER, TimeUnit.MILLISECONDS.toNanos(10), true);
+                if (i == 0) {
+                    assertThat(limiter.tryAcquire(Priority.ADMIN)).isTrue();
+                    limiter.release(Priority.ADMIN, TimeUnit.SECONDS.toNanos(2), true);
+                }
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void onlyUserRequestsAreSampled() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        window(limiter, 5, 10);
+
+        for (int i = 0; i < 10 * WINDOW_SAMPLES; i++) {
+            assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+            limiter.release(Priority.LOW, TimeUnit.SECONDS.toNanos(5), true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(registry, initialLimit);
+        ReflectionTestUtils.setField(limiter, "minLimit", 4);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 400);
+        ReflectionTestUtils.setField(limiter, "windowMs", 0L);
+        ReflectionTestUtils.setField(limiter, "minWindowSamples", WINDOW_SAMPLES);
+        ReflectionTestUtils.setField(limiter, "rttTolerance", 1.5);
+        ReflectionTestUtils.setField(limiter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(limiter, "adminShare", 0.8);
+        ReflectionTestUtils.setField(limiter, "lowShare", 0.5);
+        return limiter;
+    }
+
+    private static int acquireAll(AdaptiveConcurrencyLimiter limiter, Priority priority) {
+        int acquired = 0;
+        while (limiter.tryAcquire(priority)) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    // One window of sampled requests completing in latencyMs with concurrency requests in flight
+    private static void window(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyMs) {
+        for (int i = 1; i < concurrency; i++) {
+            assertThat(limiter.tryAcquire(Priority.USER)).isTrue();
+        }
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            assertThat(limiter.tryAcquire(Priority.USER)).isTrue();
+            limiter.release(Priority.USER, TimeUnit.MILLISECONDS.toNanos(latencyMs), true);
+        }
+        for (int i = 1; i < concurrency; i++) {
+            limiter.release(Priority.USER, 0, false);
+        }
+    }
+
+    private double shed(Priority priority) {
+        return registry.get("concurrency.limit.requests")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("outcome", "shed")
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.dto.request.UserRegisterRequest;
+import com.example.interviewproject.dto.request.VerifyUserRequest;
+import com.example.interviewproject.mapper.UserMapper;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.repository.EventRepository;
+import com.example.interviewproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private UserSearchIndex userSearchIndex;
+    @Mock
+    private UserStatsCache userStatsCache;
+    @Mock
+    private UserKeyScanner userKeyScanner;
+    @Mock
+    private UserMapper userMapper;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private UserAvailabilityService availability;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        availability = new UserAvailabilityService(userRepository, userKeyScanner);
+        ReflectionTestUtils.setField(availability, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(availability, "falsePositiveRate", 0.01);
+        availability.rebuild();
+
+        authenticationService = new AuthenticationService(userRepository, passwordEncoder, authenticationManager,
+                emailService, eventRepository, userSearchIndex, userStatsCache, availability, userMapper,
+                cacheInvalidationBus);
+    }
+
+    @Test
+    void signupRejectsTakenEmailBeforeEncodingThePassword() {
+        UserRegisterRequest request = request("taken@example.com", "newuser");
+        // A probable hit in the filter, confirmed by the database
+        availability.register(User.builder().email("taken@example.com").build());
+        when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> authenticationService.signup(request))
+                .hasMessage("Email is already registered");
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void signupRejectsTakenUsernameBeforeEncodingThePassword() {
+        UserRegisterRequest request = request("new@example.com", "taken");
+        availability.register(User.builder().username("taken").build());
+        when(userRepository.existsByUsername("taken")).thenReturn(true);
+
+        assertThatThrownBy(() -> authenticationService.signup(request))
+                .hasMessage("Username is already taken");
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void verifyRejectsUserWithoutPendingCode() {
+        // Imported before codes were always issued: unverified, but no code or expiry
+        User user = User.builder().email("imported@example.com").enabled(false).build();
+        when(userRepository.findCachedByEmail("imported@example.com")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authenticationService.verifyUser(verify("imported@example.com", "123456")))
+                .hasMessage("No verification code pending, request a new one");
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void verifyRejectsAlreadyVerifiedUser() {
+        User user = User.builder().email("done@example.com").enabled(true).build();
+        when(userRepository.findCachedByEmail("done@example.com")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authenticationService.verifyUser(verify("done@example.com", "123456")))
+                .hasMessage("Account is already verified");
+    }
+
+    @Test
+    void verifyRejectsExpiredCode() {
+        User user = User.builder()
+                .email("late@example.com")
+                .enabled(false)
+                .verificationCode("123456")
+                .verificationCodeExpiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(userRepository.findCachedByEmail("late@example.com")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authenticationService.verifyUser(verify("late@example.com", "123456")))
+                .hasMessage("Verification code has expired");
+    }
+
+    private static VerifyUserRequest verify(String email, String code) {
+        VerifyUserRequest request = new VerifyUserRequest();
+        request.setEmail(email);
+        request.setVerificationCode(code);
+        return request;
+    }
+
+    private static UserRegisterRequest request(String email, String username) {
+        UserRegisterRequest request = new UserRegisterRequest();
+        request.setName("John");
+        request.setSurname("Doe");
+        request.setEmail(email);
+        request.setUserName(username);
+        request.setPhone("+994501234567");
+        request.setPassword("secret123");
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.interviewproject.service;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two allocators on one H2 database stand in for two application instances sharing id_blocks
+ */
+class BlockIdAllocatorTest {
+
+    private static final int EXISTING_ROWS = 5;
+
+    private JdbcTemplate jdbcTemplate;
+    private BlockIdAllocator first;
+    private BlockIdAllocator second;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY)");
+        for (int id = 1; id <= EXISTING_ROWS; id++) {
+            jdbcTemplate.update("INSERT INTO items (id) VALUES (?)", id);
+        }
+
+        first = allocator(dataSource);
+        second = allocator(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    void startsAfterExistingIds() {
+        assertThat(first.next("items")).isEqualTo(EXISTING_ROWS + 1);
+        // The second instance seeds the same row and gets the following block
+        assertThat(second.next("items")).isEqualTo(EXISTING_ROWS + 1 + 10);
+    }
+
+    @Test
+    void concurrentInstancesNeverHandOutTheSameId() throws Exception {
+        // Each instance seeds its row once before the race
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ids.add(first.next("items"));
+        ids.add(second.next("items"));
+        AtomicLong handedOut = new AtomicLong(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int task = 0; task < 8; task++) {
+                BlockIdAllocator allocator = task % 2 == 0 ? first : second;
+                boolean ranges = task % 4 == 3;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        if (ranges && i % 10 == 0) {
+                            long start = allocator.reserveRange("items", 7);
+                            for (long id = start; id < start + 7; id++) {
+                                ids.add(id);
+                            }
+                            handedOut.addAndGet(7);
+                        } else {
+                            ids.add(allocator.next("items"));
+                            handedOut.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize((int) handedOut.get());
+        assertThat(ids).allMatch(id -> id > EXISTING_ROWS);
+    }
+
+    @Test
+    void seedsEachNameOnlyOnce() {
+        long start = first.reserveRange("items", 10);
+
+        // A second seed would scan the dropped table and fail
+        jdbcTemplate.execute("DROP TABLE items");
+
+        assertThat(first.reserveRange("items", 10)).isEqualTo(start + 10);
+    }
+
+    private static BlockIdAllocator allocator(JdbcDataSource dataSource) {
+        BlockIdAllocator allocator = new BlockIdAllocator(dataSource);
+        ReflectionTestUtils.setField(allocator, "blockSize", 10);
+        ReflectionTestUtils.setField(allocator, "prefetchRemaining", 3);
+        return allocator;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.interviewproject.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Change log tailing against H2: sequence values are committed out of order by inserting them
+ * with explicit seq values, and every entry must reach the handler exactly once.
+ */
+class CacheInvalidationBusTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CacheInvalidationBus bus;
+    private RecordingHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        bus = new CacheInvalidationBus(jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(bus, "enabled", true);
+        ReflectionTestUtils.setField(bus, "batchSize", 1000);
+        ReflectionTestUtils.setField(bus, "gapTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(bus, "maxGaps", 1000);
+        ReflectionTestUtils.setField(bus, "retentionMinutes", 60L);
+        handler = new RecordingHandler();
+        bus.register(CacheInvalidationBus.USERS, handler);
+
+        // Creates the table and starts tailing from its current end
+        bus.poll();
+    }
+
+    @Test
+    void deliversEntriesInOrder() {
+        insert(1, "a");
+        insert(2, "b");
+
+        bus.poll();
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactlyInAnyOrder("a", "b");
+        assertThat(handler.invalidateAllCalls).isZero();
+    }
+
+    @Test
+    void deliversLateCommittedSequenceValueOnce() {
+        insert(2, "b");
+        bus.poll();
+        assertThat(handler.keys()).containsExactly("b");
+
+        // seq 1 was allocated first but its transaction commits after seq 2 was read
+        insert(1, "a");
+        bus.poll();
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactly("b", "a");
+        assertThat(handler.invalidateAllCalls).isZero();
+    }
+
+    @Test
+    void gapFilledTogetherWithNewEntriesIsDeliveredOnce() {
+        insert(3, "c");
+        bus.poll();
+
+        insert(1, "a");
+        insert(2, "b");
+        insert(4, "d");
+        bus.poll();
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactlyInAnyOrder("c", "a", "b", "d");
+    }
+
+    @Test
+    void gapIsAbandonedAfterTimeout() throws InterruptedException {
+        ReflectionTestUtils.setField(bus, "gapTimeoutMs", 20L);
+        insert(2, "b");
+        bus.poll();
+
+        Thread.sleep(50);
+        bus.poll();
+
+        // Taken as rolled back: a value showing up after the timeout is not delivered
+        insert(1, "a");
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactly("b");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidations", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void tooManyGapsFlushTheWholeCache() {
+        ReflectionTestUtils.setField(bus, "maxGaps", 3);
+        insert(10, "j");
+        bus.poll();
+
+        assertThat(handler.invalidateAllCalls).isEqualTo(1);
+        assertThat(handler.keys()).isEmpty();
+
+        // Gaps were dropped with the flush, late values below the flush point are not delivered
+        insert(5, "e");
+        insert(11, "k");
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactly("k");
+        assertThat(handler.invalidateAllCalls).isEqualTo(1);
+    }
+
+    @Test
+    void skipsEntriesPublishedByThisNode() {
+        bus.publish(CacheInvalidationBus.USERS, 42L);
+        insert(2, "b");
+
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactly("b");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidations", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresCachesWithoutHandler() {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (seq, cache_name, entity_key, origin) VALUES (1, 'other', 'x', 'node-b')");
+        insert(2, "b");
+
+        bus.poll();
+
+        assertThat(handler.keys()).containsExactly("b");
+    }
+
+    @Test
+    void flushesEverythingAfterBeingBlindLongerThanRetention() {
+        long longAgo = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(61);
+        ReflectionTestUtils.setField(bus, "lastPollOk", longAgo);
+        insert(1, "a");
+
+        bus.poll();
+
+        // Entries may already be purged, so the node restarts from the end of the log
+        assertThat(handler.invalidateAllCalls).isEqualTo(1);
+        assertThat(handler.keys()).isEmpty();
+
+        insert(2, "b");
+        bus.poll();
+        assertThat(handler.keys()).containsExactly("b");
+    }
+
+    @Test
+    void purgesEntriesOlderThanRetention() {
+        Timestamp old = new Timestamp(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(61));
+        jdbcTemplate.update("INSERT INTO cache_invalidations (seq, cache_name, entity_key, origin, created_at) " +
+                "VALUES (1, 'users', 'old', 'node-b', ?)", old);
+        insert(2, "b");
+        ReflectionTestUtils.setField(bus, "lastPurge", 0L);
+
+        bus.poll();
+
+        assertThat(jdbcTemplate.queryForList("SELECT seq FROM cache_invalidations", Long.class)).containsExactly(2L);
+    }
+
+    private void insert(long seq, String key) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (seq, cache_name, entity_key, origin) VALUES (?, ?, ?, ?)",
+                seq, CacheInvalidationBus.USERS, key, "node-b");
+    }
+
+    private static final class RecordingHandler implements CacheInvalidationBus.Handler {
+        private final List<Set<String>> invalidations = new ArrayList<>();
+        private int invalidateAllCalls;
+
+        @Override
+        public void invalidate(Set<String> keys) {
+            invalidations.add(Set.copyOf(keys));
+        }
+
+        @Override
+        public void invalidateAll() {
+            invalidateAllCalls++;
+        }
+
+        // Every delivered key in delivery order, a key delivered twice appears twice
+        private List<String> keys() {
+            List<String> keys = new ArrayList<>();
+            invalidations.forEach(keys::addAll);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.interviewproject.service;
+
+import com.example.interviewproject.dto.request.UserRegisterRequest;
+import com.example.interviewproject.model.User;
+import com.example.interviewproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserKeyScanner userKeyScanner;
+
+    private UserAvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserAvailabilityService(userRepository, userKeyScanner);
+        ReflectionTestUtils.setField(service, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void checksTheDatabaseUntilTheFiltersAreBuilt() {
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+
+        assertThat(service.isEmailAvailable("new@example.com")).isTrue();
+        verify(userRepository).existsByEmail("new@example.com");
+    }
+
+    @Test
+    void answersDefinitelyFreeValuesFromMemory() throws Exception {
+        rebuildWith(keys(1L, "john", "john@example.com", "+994501234567"));
+
+        assertThat(service.isEmailAvailable("new@example.com")).isTrue();
+        assertThat(service.isUsernameAvailable("newuser")).isTrue();
+        assertThat(service.isPhoneAvailable("+994509999999")).isTrue();
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByPhone(anyString());
+    }
+
+    @Test
+    void scannedValuesAreNeverReportedFreeWithoutTheDatabase() throws Exception {
+        rebuildWith(keys(1L, "john", "john@example.com", "+994501234567"),
+                keys(2L, "jane", "jane@example.com", "+994507654321"));
+        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        when(userRepository.existsByPhone(anyString())).thenReturn(true);
+
+        assertThat(service.isEmailAvailable("john@example.com")).isFalse();
+        assertThat(service.isEmailAvailable("jane@example.com")).isFalse();
+        assertThat(service.isUsernameAvailable("jane")).isFalse();
+        assertThat(service.isPhoneAvailable("+994501234567")).isFalse();
+        // The filters hold normalized values, so case and surrounding spaces do not slip past them
+        assertThat(service.isEmailAvailable(" John@Example.COM ")).isFalse();
+
+        verify(userRepository).existsByEmail(" John@Example.COM ");
+    }
+
+    @Test
+    void registeredUsersAreNeverReportedFreeWithoutTheDatabase() throws Exception {
+        rebuildWith();
+        service.register(User.builder().username("fresh").email("fresh@example.com").phone("+994500000001").build());
+        when(userRepository.existsByEmail("fresh@example.com")).thenReturn(true);
+        when(userRepository.existsByUsername("fresh")).thenReturn(true);
+        when(userRepository.existsByPhone("+994500000001")).thenReturn(true);
+
+        assertThat(service.isEmailAvailable("fresh@example.com")).isFalse();
+        assertThat(service.isUsernameAvailable("fresh")).isFalse();
+        assertThat(service.isPhoneAvailable("+994500000001")).isFalse();
+    }
+
+    @Test
+    void probableHitIsConfirmedByTheDatabase() throws Exception {
+        rebuildWith(keys(1L, "john", "john@example.com", "+994501234567"));
+        // The row is gone (e.g. archived), the filter still reports a probable hit
+        when(userRepository.existsByEmail("john@example.com")).thenReturn(false);
+
+        assertThat(service.isEmailAvailable("john@example.com")).isTrue();
+        verify(userRepository).existsByEmail("john@example.com");
+    }
+
+    @Test
+    void blankValuesAreNeverAvailable() throws Exception {
+        rebuildWith();
+
+        assertThat(service.isEmailAvailable(" ")).isFalse();
+        assertThat(service.isUsernameAvailable(null)).isFalse();
+    }
+
+    @Test
+    void assertAvailableRejectsTakenKeys() throws Exception {
+        rebuildWith(keys(1L, "john", "john@example.com", "+994501234567"));
+        when(userRepository.existsByUsername("john")).thenReturn(true);
+
+        UserRegisterRequest request = new UserRegisterRequest();
+        request.setEmail("other@example.com");
+        request.setUserName("john");
+        request.setPhone("+994509999999");
+
+        assertThatThrownBy(() -> service.assertAvailable(request))
+                .hasMessage("Username is already taken");
+    }
+
+    @SafeVarargs
+    private void rebuildWith(UserRepository.UserKeys... users) throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserRepository.UserKeys> consumer = invocation.getArgument(0);
+            List.of(users).forEach(consumer);
+            return null;
+        }).when(userKeyScanner).scan(any());
+        service.rebuild();
+    }
+
+    private static UserRepository.UserKeys keys(Long id, String username, String email, String phone) {
+        return new UserRepository.UserKeys() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getPhone() {
+                return phone;
+            }
+        };
+    }
+}